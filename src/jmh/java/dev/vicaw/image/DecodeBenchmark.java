@@ -0,0 +1,74 @@
+package dev.vicaw.image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.vicaw.model.RenditionSize;
+
+// Memória alocada para gerar uma miniatura a partir de um JPEG grande: "full" decodifica a
+// imagem inteira com ImageIO.read e recorta depois, "region" decodifica só o recorte, com
+// subsampling. A alocação por miniatura aparece como gc.alloc.rate.norm (profiler gc).
+//
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.benchmark=DecodeBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class DecodeBenchmark {
+
+    @Param({ "full", "region" })
+    String decoder;
+
+    @Param({ "64x64", "320x240", "1280x720" })
+    String size;
+
+    @Param({ "4000x3000" })
+    String source;
+
+    private ImageScaler scaler;
+    private byte[] jpeg;
+    private int width;
+    private int height;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        RenditionSize sourceSize = RenditionSize.parse(source);
+        RenditionSize targetSize = RenditionSize.parse(size);
+        width = targetSize.getWidth();
+        height = targetSize.getHeight();
+
+        scaler = new ImageScaler();
+        scaler.resamplerName = "lanczos";
+        scaler.defaultQuality = 80;
+        scaler.init();
+
+        jpeg = ImageScaler.encode(TestPattern.render(sourceSize.getWidth(), sourceSize.getHeight()),
+                ImageFormat.JPEG, 90);
+    }
+
+    @Benchmark
+    public byte[] scale() throws IOException {
+        if ("full".equals(decoder))
+            return scaler.scale(ImageIO.read(new ByteArrayInputStream(jpeg)), width, height);
+
+        return scaler.scale(jpeg, width, height);
+    }
+}
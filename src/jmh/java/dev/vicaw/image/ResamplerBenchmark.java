@@ -0,0 +1,70 @@
+package dev.vicaw.image;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.vicaw.model.RenditionSize;
+
+// Compara os resamplers nos tamanhos padrão de miniatura. A vazão é medida pelo JMH;
+// ao final de cada combinação é impresso o PSNR em relação à média exata de área.
+//
+// ./mvnw -Pjmh test-compile exec:exec -Djmh.benchmark=ResamplerBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResamplerBenchmark {
+
+    @Param({ "smooth", "bilinear", "lanczos" })
+    String resampler;
+
+    @Param({ "64x64", "320x240", "1280x720" })
+    String size;
+
+    @Param({ "3000x2000" })
+    String source;
+
+    private Resampler instance;
+    private BufferedImage cropped;
+    private int width;
+    private int height;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RenditionSize sourceSize = RenditionSize.parse(source);
+        RenditionSize targetSize = RenditionSize.parse(size);
+        width = targetSize.getWidth();
+        height = targetSize.getHeight();
+
+        instance = Resampler.forName(resampler);
+        cropped = ImageScaler.crop(TestPattern.render(sourceSize.getWidth(), sourceSize.getHeight()), width, height);
+    }
+
+    @Benchmark
+    public BufferedImage resize() {
+        return instance.resize(cropped, width, height);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportQuality() {
+        BufferedImage reference = TestPattern.areaAverage(cropped, width, height);
+        double psnr = TestPattern.psnr(reference, instance.resize(cropped, width, height));
+        System.out.printf("%nPSNR %s %s: %.2f dB%n", resampler, size, psnr);
+    }
+}
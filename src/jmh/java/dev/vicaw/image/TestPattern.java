@@ -0,0 +1,86 @@
+package dev.vicaw.image;
+
+import java.awt.image.BufferedImage;
+
+// Imagem sintética usada nos benchmarks: gradientes suaves, bordas duras e um
+// padrão de anéis cuja frequência aumenta do centro para as bordas (sensível a serrilhado).
+final class TestPattern {
+
+    private TestPattern() {
+    }
+
+    static BufferedImage render(int w, int h) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                double u = (x + 0.5) / w - 0.5;
+                double v = (y + 0.5) / h - 0.5;
+
+                int r = (int) Math.round(127.5 + 127.5 * Math.cos(2 * Math.PI * 20 * (u * u + v * v)));
+                int g = (int) Math.round(255 * (u + 0.5));
+                int b = Math.abs(u) < 0.2 && Math.abs(v) < 0.15 ? 220 : 40;
+
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    // Referência para o PSNR: média exata (em double) da área de origem coberta por
+    // cada pixel de destino.
+    static BufferedImage areaAverage(BufferedImage source, int w, int h) {
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        int[] pixels = source.getRGB(0, 0, sourceWidth, sourceHeight, null, 0, sourceWidth);
+
+        BufferedImage result = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        double scaleX = (double) sourceWidth / w;
+        double scaleY = (double) sourceHeight / h;
+
+        for (int ty = 0; ty < h; ty++) {
+            double top = ty * scaleY;
+            double bottom = top + scaleY;
+            for (int tx = 0; tx < w; tx++) {
+                double left = tx * scaleX;
+                double right = left + scaleX;
+                double r = 0, g = 0, b = 0, area = 0;
+
+                for (int y = (int) top; y < Math.min(sourceHeight, Math.ceil(bottom)); y++) {
+                    double coverY = Math.min(bottom, y + 1) - Math.max(top, y);
+                    for (int x = (int) left; x < Math.min(sourceWidth, Math.ceil(right)); x++) {
+                        double cover = coverY * (Math.min(right, x + 1) - Math.max(left, x));
+                        int rgb = pixels[y * sourceWidth + x];
+                        r += cover * ((rgb >> 16) & 0xFF);
+                        g += cover * ((rgb >> 8) & 0xFF);
+                        b += cover * (rgb & 0xFF);
+                        area += cover;
+                    }
+                }
+
+                result.setRGB(tx, ty, ((int) Math.round(r / area) << 16)
+                        | ((int) Math.round(g / area) << 8) | (int) Math.round(b / area));
+            }
+        }
+        return result;
+    }
+
+    static double psnr(BufferedImage expected, BufferedImage actual) {
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        double squaredError = 0;
+
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int a = expected.getRGB(x, y);
+                int b = actual.getRGB(x, y);
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    int diff = ((a >> shift) & 0xFF) - ((b >> shift) & 0xFF);
+                    squaredError += diff * diff;
+                }
+            }
+        }
+
+        double mse = squaredError / (w * h * 3.0);
+        return mse == 0 ? Double.POSITIVE_INFINITY : 10 * Math.log10(255 * 255 / mse);
+    }
+}
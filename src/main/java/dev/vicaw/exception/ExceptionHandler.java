@@ -3,6 +3,7 @@ package dev.vicaw.exception;
 import com.fasterxml.jackson.core.JacksonException;
 
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -13,6 +14,14 @@ public class ExceptionHandler implements ExceptionMapper<Exception> {
 
     @Override
     public Response toResponse(Exception exception) {
+        if (exception instanceof ServiceUnavailableException) {
+            ServiceUnavailableException e = (ServiceUnavailableException) exception;
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                    .entity(new ErrorResponseBody(e.getCode(), e.getMessage()))
+                    .build();
+        }
+
         if (exception instanceof ApiException) {
             ApiException e = (ApiException) exception;
             return Response.status(Response.Status.fromStatusCode(e.getCode()))
@@ -0,0 +1,9 @@
+package dev.vicaw.exception;
+
+public class ImageTooLargeException extends ApiException {
+    public static final String ERROR_MESSAGE = "A imagem enviada excede o tamanho máximo permitido.";
+
+    public ImageTooLargeException() {
+        super(413, ERROR_MESSAGE);
+    }
+}
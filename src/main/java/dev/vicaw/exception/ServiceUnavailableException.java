@@ -0,0 +1,15 @@
+package dev.vicaw.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends ApiException {
+    public static final String ERROR_MESSAGE = "Servidor ocupado processando imagens. Tente novamente em instantes.";
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(long retryAfterSeconds) {
+        super(503, ERROR_MESSAGE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,100 @@
+package dev.vicaw.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Extrai, uma única vez no upload, o que o frontend precisa para montar a página antes
+// de a imagem chegar: dimensões, cor predominante e um placeholder minúsculo.
+@ApplicationScoped
+public class ImageAnalyzer {
+    private static final int COLOR_SAMPLE_SIZE = 32;
+    private static final float[] BLUR = { 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f, 1 / 9f };
+
+    private final Resampler resampler = new ProgressiveBilinearResampler();
+
+    @ConfigProperty(name = "images.placeholder.size", defaultValue = "20")
+    int placeholderSize;
+
+    // Vazio quando o conteúdo não pode ser decodificado. As dimensões vêm do cabeçalho;
+    // a cor e o placeholder só precisam de uma versão pequena da imagem.
+    public Optional<ImageMetadata> analyze(byte[] data) {
+        Optional<ImageHeader> header = ImageDecoder.readHeader(data);
+        if (header.isEmpty())
+            return Optional.empty();
+
+        return analyze(header.get(), new ByteArrayInputStream(data));
+    }
+
+    // Como analyze(byte[]), com o cabeçalho já lido e a imagem decodificada direto do stream,
+    // com subsampling, sem carregar o arquivo inteiro no heap.
+    public Optional<ImageMetadata> analyze(ImageHeader header, InputStream data) {
+        try {
+            int sampleSize = Math.max(COLOR_SAMPLE_SIZE, placeholderSize);
+            BufferedImage img = ImageDecoder.decode(data, sampleSize, sampleSize);
+            if (img == null)
+                return Optional.empty();
+
+            return Optional.of(new ImageMetadata(header.getWidth(), header.getHeight(),
+                    dominantColor(img), placeholder(img)));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Cor mais frequente numa amostra reduzida, com os canais quantizados em 4 bits.
+    // Retorna a média dos pixels do grupo mais frequente.
+    public String dominantColor(BufferedImage img) {
+        BufferedImage sample = resampler.resize(img, Math.min(COLOR_SAMPLE_SIZE, img.getWidth()),
+                Math.min(COLOR_SAMPLE_SIZE, img.getHeight()));
+        int[] pixels = sample.getRGB(0, 0, sample.getWidth(), sample.getHeight(), null, 0, sample.getWidth());
+
+        int[] counts = new int[4096];
+        long[][] sums = new long[4096][3];
+        for (int rgb : pixels) {
+            int r = (rgb >> 16) & 0xFF;
+            int g = (rgb >> 8) & 0xFF;
+            int b = rgb & 0xFF;
+            int bucket = ((r >> 4) << 8) | ((g >> 4) << 4) | (b >> 4);
+            counts[bucket]++;
+            sums[bucket][0] += r;
+            sums[bucket][1] += g;
+            sums[bucket][2] += b;
+        }
+
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best])
+                best = i;
+        }
+
+        int count = counts[best];
+        return String.format("#%02x%02x%02x", sums[best][0] / count, sums[best][1] / count, sums[best][2] / count);
+    }
+
+    public String placeholder(BufferedImage img) throws IOException {
+        double scale = (double) placeholderSize / Math.max(img.getWidth(), img.getHeight());
+        int w = Math.max(1, (int) Math.round(img.getWidth() * Math.min(1.0, scale)));
+        int h = Math.max(1, (int) Math.round(img.getHeight() * Math.min(1.0, scale)));
+
+        BufferedImage small = resampler.resize(img, w, h);
+        BufferedImage blurred = new ConvolveOp(new Kernel(3, 3, BLUR),
+                ConvolveOp.EDGE_NO_OP, null).filter(small, null);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ImageIO.write(blurred, "jpg", buffer);
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(buffer.toByteArray());
+    }
+}
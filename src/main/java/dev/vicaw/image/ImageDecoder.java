@@ -0,0 +1,120 @@
+package dev.vicaw.image;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+// Leitura de imagens sem alocar mais memória do que o necessário: o cabeçalho é lido
+// sem decodificar os pixels, a decodificação pode se limitar a uma região (recorte) e
+// descarta linhas e colunas (subsampling) quando a imagem é muito maior que o tamanho pedido.
+public final class ImageDecoder {
+    // A imagem decodificada fica com pelo menos o dobro do tamanho pedido, para que o
+    // resampler ainda tenha pixels para filtrar.
+    private static final int OVERSAMPLING = 2;
+    // Tamanho da maior assinatura conhecida, a do PNG.
+    private static final int SIGNATURE_BYTES = 8;
+
+    private ImageDecoder() {
+    }
+
+    // Vazio quando o conteúdo não é JPEG nem PNG ou o cabeçalho está corrompido.
+    public static Optional<ImageHeader> readHeader(byte[] data) {
+        return readHeader(new ByteArrayInputStream(data));
+    }
+
+    // Como readHeader(byte[]), lendo do stream só os bytes do cabeçalho. Não fecha o stream.
+    public static Optional<ImageHeader> readHeader(InputStream data) {
+        try (ImageInputStream in = new MemoryCacheImageInputStream(data)) {
+            Optional<ImageFormat> format = sniff(in);
+            if (format.isEmpty())
+                return Optional.empty();
+
+            ImageReader reader = reader(format.get());
+            try {
+                reader.setInput(in, true, true);
+                return Optional.of(new ImageHeader(format.get(), reader.getWidth(0), reader.getHeight(0)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Decodifica com resolução suficiente para gerar uma imagem de w x h.
+    // Retorna null, como o ImageIO.read, se o conteúdo não puder ser lido.
+    public static BufferedImage decode(byte[] data, int w, int h) throws IOException {
+        return decode(new ByteArrayInputStream(data), w, h, false);
+    }
+
+    // Como decode(byte[], w, h), lendo do stream. Não fecha o stream.
+    public static BufferedImage decode(InputStream data, int w, int h) throws IOException {
+        return decode(data, w, h, false);
+    }
+
+    // Como decode, mas só a região central com a proporção w:h, a mesma do ImageScaler.crop.
+    public static BufferedImage decodeCropped(byte[] data, int w, int h) throws IOException {
+        return decode(new ByteArrayInputStream(data), w, h, true);
+    }
+
+    private static BufferedImage decode(InputStream data, int w, int h, boolean crop) throws IOException {
+        try (ImageInputStream in = new MemoryCacheImageInputStream(data)) {
+            Optional<ImageFormat> format = sniff(in);
+            if (format.isEmpty())
+                return null;
+
+            ImageReader reader = reader(format.get());
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                Rectangle region = crop
+                        ? ImageScaler.cropRegion(width, height, w, h)
+                        : new Rectangle(0, 0, width, height);
+                int step = subsampling(region.width, region.height, w, h);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(region);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Identifica o formato pelos primeiros bytes e volta o stream para o início.
+    private static Optional<ImageFormat> sniff(ImageInputStream in) throws IOException {
+        byte[] signature = new byte[SIGNATURE_BYTES];
+        in.mark();
+        int length = 0;
+        int n;
+        while (length < signature.length && (n = in.read(signature, length, signature.length - length)) > 0)
+            length += n;
+        in.reset();
+
+        return ImageFormat.fromSignature(Arrays.copyOf(signature, length));
+    }
+
+    static int subsampling(int sourceWidth, int sourceHeight, int w, int h) {
+        return Math.max(1, Math.min(sourceWidth / (w * OVERSAMPLING), sourceHeight / (h * OVERSAMPLING)));
+    }
+
+    private static ImageReader reader(ImageFormat format) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(format.getFormatName());
+        if (!readers.hasNext())
+            throw new IOException("Nenhum leitor disponível para " + format.getMediaType());
+        return readers.next();
+    }
+}
@@ -0,0 +1,58 @@
+package dev.vicaw.image;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Formatos em que as miniaturas podem ser codificadas.
+public enum ImageFormat {
+    JPEG("image/jpeg", "jpg", "jpeg", new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }),
+    PNG("image/png", "png", "png", new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+
+    private final String mediaType;
+    private final String extension;
+    // Nome usado pelo ImageIO para encontrar o leitor e o gravador.
+    private final String formatName;
+    private final byte[] signature;
+
+    ImageFormat(String mediaType, String extension, String formatName, byte[] signature) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.formatName = formatName;
+        this.signature = signature;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getFormatName() {
+        return formatName;
+    }
+
+    // Identifica o formato pelos primeiros bytes do arquivo, sem confiar no nome enviado.
+    public static Optional<ImageFormat> fromSignature(byte[] header) {
+        for (ImageFormat format : values()) {
+            if (header.length >= format.signature.length
+                    && Arrays.equals(Arrays.copyOf(header, format.signature.length), format.signature))
+                return Optional.of(format);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageFormat> fromMediaType(String mediaType) {
+        for (ImageFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType))
+                return Optional.of(format);
+        }
+        return Optional.empty();
+    }
+
+    // Imagens antigas não guardam o tipo, então ele é deduzido pela extensão do nome.
+    public static ImageFormat fromFileName(String fileName) {
+        return fileName.toLowerCase().endsWith(".png") ? PNG : JPEG;
+    }
+}
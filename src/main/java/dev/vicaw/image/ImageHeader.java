@@ -0,0 +1,15 @@
+package dev.vicaw.image;
+
+import lombok.Value;
+
+// Formato e dimensões lidos do cabeçalho, sem decodificar os pixels.
+@Value
+public class ImageHeader {
+    ImageFormat format;
+    int width;
+    int height;
+
+    public long getPixels() {
+        return (long) width * height;
+    }
+}
@@ -0,0 +1,13 @@
+package dev.vicaw.image;
+
+import lombok.Value;
+
+@Value
+public class ImageMetadata {
+    int width;
+    int height;
+    // Cor no formato #rrggbb.
+    String dominantColor;
+    // Data URI de uma versão minúscula e desfocada da imagem (LQIP).
+    String placeholder;
+}
@@ -0,0 +1,124 @@
+package dev.vicaw.image;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Recorta a imagem para a proporção pedida e redimensiona com o resampler configurado
+// (images.scaling.resampler = lanczos | bilinear | smooth).
+// O JPEG é gravado progressivo e com tabelas de Huffman otimizadas, o que reduz o tamanho
+// sem mudar a qualidade da imagem.
+@ApplicationScoped
+public class ImageScaler {
+
+    @ConfigProperty(name = "images.scaling.resampler", defaultValue = "lanczos")
+    String resamplerName;
+
+    @ConfigProperty(name = "images.output.jpeg-quality", defaultValue = "80")
+    int defaultQuality;
+
+    private Resampler resampler;
+
+    @PostConstruct
+    void init() {
+        resampler = Resampler.forName(resamplerName);
+    }
+
+    public int getDefaultQuality() {
+        return defaultQuality;
+    }
+
+    public byte[] scale(byte[] data, int w, int h) {
+        return scale(data, w, h, ImageFormat.JPEG, defaultQuality);
+    }
+
+    public byte[] scale(byte[] data, int w, int h, ImageFormat format, int quality) {
+
+        if (w == 0 || h == 0)
+            return data;
+
+        try {
+            // Só a região recortada é decodificada, e sem a resolução total quando a imagem é
+            // muito maior que a miniatura.
+            BufferedImage img = ImageDecoder.decodeCropped(data, w, h);
+            if (img == null)
+                return data;
+
+            return encode(resampler.resize(img, w, h), format, quality);
+
+        } catch (IOException e) {
+            return data;
+        }
+    }
+
+    public byte[] scale(BufferedImage img, int w, int h) throws IOException {
+        return scale(img, w, h, ImageFormat.JPEG, defaultQuality);
+    }
+
+    public byte[] scale(BufferedImage img, int w, int h, ImageFormat format, int quality) throws IOException {
+        return encode(resampler.resize(crop(img, w, h), w, h), format, quality);
+    }
+
+    // quality vai de 1 a 100 e só é usada no JPEG.
+    static byte[] encode(BufferedImage img, ImageFormat format, int quality) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        if (format == ImageFormat.PNG) {
+            ImageIO.write(img, "png", buffer);
+            return buffer.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        JPEGImageWriteParam param = (JPEGImageWriteParam) writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality / 100f);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        param.setOptimizeHuffmanTables(true);
+
+        try (ImageOutputStream out = new MemoryCacheImageOutputStream(buffer)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.toByteArray();
+    }
+
+    static BufferedImage crop(BufferedImage img, int w, int h) {
+        Rectangle region = cropRegion(img.getWidth(), img.getHeight(), w, h);
+        return img.getSubimage(region.x, region.y, region.width, region.height);
+    }
+
+    // Região central de uma imagem width x height com a proporção w:h.
+    static Rectangle cropRegion(int width, int height, int w, int h) {
+        double targetAspectRatio = (double) w / (double) h;
+
+        double imageWidth = width;
+        double imageHeight = height;
+
+        double currAspectRatio = imageWidth / imageHeight;
+
+        if (currAspectRatio > targetAspectRatio) {
+            imageWidth = imageHeight * targetAspectRatio;
+        } else if (currAspectRatio < targetAspectRatio) {
+            imageHeight = imageWidth / targetAspectRatio;
+        }
+
+        return new Rectangle((width - (int) imageWidth) / 2, (height - (int) imageHeight) / 2,
+                (int) imageWidth, (int) imageHeight);
+    }
+}
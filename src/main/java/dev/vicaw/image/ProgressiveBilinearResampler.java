@@ -0,0 +1,34 @@
+package dev.vicaw.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+// Reduz a imagem pela metade a cada passo com interpolação bilinear até chegar ao
+// tamanho final. Um único passo bilinear de uma redução grande ignora a maior parte
+// dos pixels e gera serrilhado.
+public class ProgressiveBilinearResampler implements Resampler {
+
+    @Override
+    public BufferedImage resize(BufferedImage source, int w, int h) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = currentWidth > w ? Math.max(currentWidth / 2, w) : w;
+            currentHeight = currentHeight > h ? Math.max(currentHeight / 2, h) : h;
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, Color.BLACK, null);
+            g.dispose();
+
+            current = next;
+        } while (currentWidth != w || currentHeight != h);
+
+        return current;
+    }
+}
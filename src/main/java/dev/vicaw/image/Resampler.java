@@ -0,0 +1,23 @@
+package dev.vicaw.image;
+
+import java.awt.image.BufferedImage;
+
+// Redimensiona uma imagem para exatamente w x h pixels. O recorte para a proporção
+// desejada é feito antes, pelo ImageScaler.
+public interface Resampler {
+
+    BufferedImage resize(BufferedImage source, int w, int h);
+
+    static Resampler forName(String name) {
+        switch (name) {
+            case "smooth":
+                return new SmoothResampler();
+            case "bilinear":
+                return new ProgressiveBilinearResampler();
+            case "lanczos":
+                return new LanczosResampler();
+            default:
+                throw new IllegalArgumentException("Resampler desconhecido: " + name);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dev.vicaw.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Implementação original: filtro de média de área do AWT. Mantida como referência
+// de qualidade e para comparação nos benchmarks.
+public class SmoothResampler implements Resampler {
+
+    @Override
+    public BufferedImage resize(BufferedImage source, int w, int h) {
+        java.awt.Image scaledImage = source.getScaledInstance(w, h, java.awt.Image.SCALE_SMOOTH);
+
+        BufferedImage result = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        g.drawImage(scaledImage, 0, 0, new Color(0, 0, 0), null);
+        g.dispose();
+        return result;
+    }
+}
@@ -1,16 +1,8 @@
 package dev.vicaw.model;
 
-import java.awt.Color;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-import javax.imageio.ImageIO;
-
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,89 +11,64 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// Só metadados. O conteúdo fica no ImageStore (ou em ImagePayload, para imagens antigas).
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = {
+        @Index(name = "idx_images_name", columnList = "name", unique = true),
+        @Index(name = "idx_images_hash", columnList = "hash") })
 public class Image {
+    private static final String URL_PATH = "/images/";
+
     @Id
     @Column(length = 16)
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(columnDefinition = "MEDIUMBLOB")
-    @Lob
-    private byte[] data;
-
     private String name;
 
-    private Long articleId;
+    @Column(length = 64)
+    private String hash;
 
-    @CreationTimestamp
-    public LocalDateTime createdAt;
+    private Long size;
 
-    @UpdateTimestamp
-    private LocalDateTime updatedAt;
-
-    @Transient
-    public static Image defaultImage() {
-        try {
-            ClassLoader classLoader = Image.class.getClassLoader();
-            InputStream is = classLoader.getResourceAsStream("notfound.jpg");
-            return new Image(null, is.readAllBytes(), "notfound.jpg", null, null, null);
-        } catch (IOException e) {
-            return null;
-        }
-    }
+    @Column(length = 32)
+    private String contentType;
 
-    @Transient
-    public byte[] scale(int w, int h) {
+    private Integer width;
 
-        if (w == 0 || h == 0)
-            return data;
+    private Integer height;
 
-        ByteArrayInputStream in = new ByteArrayInputStream(this.data);
+    @Column(length = 7)
+    private String dominantColor;
 
-        try {
-            BufferedImage img = ImageIO.read(in);
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
 
-            double targetAspectRatio = (double) w / (double) h;
+    // Quantas fotos (User.photoUrl, Recipe.urlFoto) apontam para esta imagem.
+    private int referenceCount;
 
-            double imageWidth = img.getWidth();
-            double imageHeight = img.getHeight();
-
-            double currAspectRatio = imageWidth / imageHeight;
-
-            if (currAspectRatio > targetAspectRatio) {
-                imageWidth = imageHeight * targetAspectRatio;
-            } else if (currAspectRatio < targetAspectRatio) {
-                imageHeight = imageWidth / targetAspectRatio;
-            }
-
-            BufferedImage croppedImage = img.getSubimage((img.getWidth() - (int) imageWidth) / 2,
-                    (img.getHeight() - (int) imageHeight) / 2, (int) imageWidth, (int) imageHeight);
+    private Long articleId;
 
-            java.awt.Image scaledImage = croppedImage.getScaledInstance(w, h, java.awt.Image.SCALE_SMOOTH);
+    @CreationTimestamp
+    public LocalDateTime createdAt;
 
-            BufferedImage imgBuff = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
-            imgBuff.getGraphics().drawImage(scaledImage, 0, 0, new Color(0, 0, 0), null);
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 
-            ImageIO.write(imgBuff, "jpg", buffer);
-            this.setData(buffer.toByteArray());
-            return this.data;
+    // Nome da imagem em uma URL de foto (User.photoUrl, Recipe.urlFoto), ou null se a URL não é de uma imagem.
+    public static String nameFromUrl(String url) {
+        if (url == null || !url.contains(URL_PATH))
+            return null;
 
-        } catch (IOException e) {
-            return this.data;
-        }
+        return url.substring(url.lastIndexOf(URL_PATH) + URL_PATH.length());
     }
-
 }
@@ -0,0 +1,25 @@
+package dev.vicaw.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "image_blobs")
+public class ImageBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    @Lob
+    private byte[] data;
+}
@@ -0,0 +1,30 @@
+package dev.vicaw.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Conteúdo das imagens anteriores ao ImageStore, na coluna images.data. Mapeado à
+// parte de Image para que nenhuma consulta de metadados carregue o BLOB. Só é lido
+// para servir imagens ainda não migradas e pela migração.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "images")
+public class ImagePayload {
+    @Id
+    @Column(length = 16)
+    private UUID id;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    @Lob
+    private byte[] data;
+}
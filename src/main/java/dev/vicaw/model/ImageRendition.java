@@ -0,0 +1,44 @@
+package dev.vicaw.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "image_renditions", uniqueConstraints = @UniqueConstraint(columnNames = { "imageName", "width",
+        "height" }))
+public class ImageRendition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String imageName;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    @Lob
+    private byte[] data;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,9 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "ratings")
+@Table(name = "ratings", indexes = {
+        @Index(name = "idx_ratings_recipe_created", columnList = "recipe_id, createdAt, id"),
+        @Index(name = "idx_ratings_recipe_score", columnList = "recipe_id, score, id") })
 public class Rating {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,31 @@
+package dev.vicaw.model;
+
+import java.util.List;
+
+import lombok.Value;
+
+// Quantidade de avaliações de uma receita com cada nota, de 1 a 5 (índice 0 = nota 1).
+// A quantidade total e a média saem do histograma.
+@Value
+public class RatingAggregate {
+    List<Long> histogram;
+
+    public long getCount() {
+        long count = 0;
+        for (Long scoreCount : histogram)
+            count += scoreCount;
+        return count;
+    }
+
+    public long getSum() {
+        long sum = 0;
+        for (int i = 0; i < histogram.size(); i++)
+            sum += (i + 1) * histogram.get(i);
+        return sum;
+    }
+
+    public double average() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) getSum() / count;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.vicaw.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Value;
+
+// Posição da última avaliação de uma página: a ordenação usada, o valor da chave de
+// ordenação (createdAt ou score) e o id. O cliente recebe apenas o texto codificado.
+@Value
+public class RatingCursor {
+    private static final String SEPARATOR = "|";
+
+    String orderBy;
+    String key;
+    long id;
+
+    public String encode() {
+        String value = orderBy + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RatingCursor decode(String value) {
+        String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        String[] parts = decoded.split("\\" + SEPARATOR);
+        if (parts.length != 3)
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+
+        return new RatingCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+    }
+}
@@ -14,9 +14,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,7 +31,10 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_ranking", columnList = "rankingScore, id"),
+        @Index(name = "idx_recipes_user_ranking", columnList = "user_id, rankingScore, id"),
+        @Index(name = "idx_recipes_image_name", columnList = "imageName") })
 public class Recipe {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +50,8 @@ public class Recipe {
     @Column(columnDefinition = "TEXT")
     private String modoPreparo;
     private String urlFoto;
+    // Nome da imagem de urlFoto, para a coleta de imagens comparar por igualdade.
+    private String imageName;
     @Column(columnDefinition = "TEXT")
     private String about;
 
@@ -51,9 +59,60 @@ public class Recipe {
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Rating> ratings;
 
+    // Totais das avaliações, mantidos a cada avaliação para não agregar a tabela ratings em toda listagem.
+    // Só mudam por update direto no banco (RecipeRepository.updateRatingTotals), então não entram no
+    // update da entidade e uma edição da receita não sobrescreve avaliações feitas ao mesmo tempo.
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long ratingCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long ratingSum = 0;
+
+    // Quantidade de avaliações com cada nota, de 1 a 5, mantida junto com os totais.
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long score1Count = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long score2Count = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long score3Count = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long score4Count = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long score5Count = 0;
+
+    // Média bayesiana das notas (ver RecipeRanking), usada na ordenação por avaliação. Zero sem avaliações.
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "double precision default 0")
+    private double rankingScore = 0;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    public List<Long> scoreHistogram() {
+        return List.of(score1Count, score2Count, score3Count, score4Count, score5Count);
+    }
+
+    public double averageRating() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateImageName() {
+        imageName = Image.nameFromUrl(urlFoto);
+    }
 }
@@ -0,0 +1,18 @@
+package dev.vicaw.model;
+
+import lombok.Value;
+
+@Value
+public class RenditionSize {
+    int width;
+    int height;
+
+    // Formato "LARGURAxALTURA", ex.: 320x240
+    public static RenditionSize parse(String value) {
+        String[] parts = value.trim().toLowerCase().split("x");
+        if (parts.length != 2)
+            throw new IllegalArgumentException("Tamanho de imagem inválido: " + value);
+
+        return new RenditionSize(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+}
@@ -0,0 +1,22 @@
+package dev.vicaw.model;
+
+import dev.vicaw.image.ImageFormat;
+import lombok.Value;
+
+@Value
+public class RenditionSpec {
+    int width;
+    int height;
+    ImageFormat format;
+    int quality;
+
+    // O PNG não tem perdas, então a qualidade não distingue uma versão da outra.
+    public static RenditionSpec of(int width, int height, ImageFormat format, int quality) {
+        return new RenditionSpec(width, height, format, format == ImageFormat.JPEG ? quality : 0);
+    }
+
+    // Sufixo usado no ETag, ex.: 320x240-q80.jpg
+    public String tag() {
+        return width + "x" + height + (format == ImageFormat.JPEG ? "-q" + quality : "") + "." + format.getExtension();
+    }
+}
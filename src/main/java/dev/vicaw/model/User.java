@@ -9,6 +9,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,7 +25,7 @@ import lombok.Setter;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_image_name", columnList = "imageName"))
 public class User {
 
     @Id
@@ -33,9 +36,18 @@ public class User {
 
     private String photoUrl;
 
+    // Nome da imagem de photoUrl, para a coleta de imagens comparar por igualdade.
+    private String imageName;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void updateImageName() {
+        imageName = Image.nameFromUrl(photoUrl);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.vicaw.model.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageCacheStatsResponse {
+    private Long entries;
+    private Long bytes;
+    private Long maxBytes;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long evictionCount;
+    private Long evictionBytes;
+    private Integer inFlight;
+    private Long coalescedCount;
+}
@@ -0,0 +1,14 @@
+package dev.vicaw.model.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageGcResponse {
+    private Long reconciled;
+    private Long deleted;
+    private Long skipped;
+    private Long failed;
+    private Long reclaimedBytes;
+}
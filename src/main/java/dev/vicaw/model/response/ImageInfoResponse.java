@@ -13,6 +13,14 @@ import lombok.Data;
 public class ImageInfoResponse {
     private UUID id;
     private String name;
+    private String hash;
+    private Long size;
+    private String contentType;
+    private Integer width;
+    private Integer height;
+    private String dominantColor;
+    private String placeholder;
+    private int referenceCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package dev.vicaw.model.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageMigrationResponse {
+    private Long migrated;
+    private Long failed;
+    private Long bytes;
+}
@@ -0,0 +1,19 @@
+package dev.vicaw.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ImagePreviewResponse {
+    @JsonIgnore
+    private String name;
+    private Integer width;
+    private Integer height;
+    private String dominantColor;
+    private String placeholder;
+}
@@ -0,0 +1,18 @@
+package dev.vicaw.model.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageScalingStatsResponse {
+    private Integer workers;
+    private Integer queueCapacity;
+    private Integer activeCount;
+    private Integer queuedCount;
+    private Long completedCount;
+    private Long rejectedCount;
+    private Long timedOutCount;
+    private Double averageQueueMillis;
+    private Long maxQueueMillis;
+}
@@ -1,5 +1,7 @@
 package dev.vicaw.model.response;
 
+import java.util.List;
+
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,4 +10,6 @@ import lombok.Data;
 public class RatingInfoResponse {
     private Double score;
     private Long count;
+    // Quantidade de avaliações com cada nota, de 1 a 5.
+    private List<Long> histogram;
 }
\ No newline at end of file
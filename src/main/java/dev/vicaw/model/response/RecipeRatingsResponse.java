@@ -8,7 +8,8 @@ import lombok.Data;
 @Data
 @Builder
 public class RecipeRatingsResponse {
-    boolean hasMore;
+    // Nulo quando não há mais avaliações.
+    String nextCursor;
     List<RatingResponse> ratings;
     RatingInfoResponse ratingInfo;
 }
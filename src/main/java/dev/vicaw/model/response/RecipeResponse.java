@@ -19,6 +19,7 @@ public class RecipeResponse {
     private String modoPreparo;
     private String about;
     private String urlFoto;
+    private ImagePreviewResponse fotoPreview;
     private Double rating;
     private Long ratingCount;
     private LocalDateTime createdAt;
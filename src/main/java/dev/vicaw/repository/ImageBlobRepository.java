@@ -0,0 +1,10 @@
+package dev.vicaw.repository;
+
+import dev.vicaw.model.ImageBlob;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ImageBlobRepository implements PanacheRepositoryBase<ImageBlob, String> {
+
+}
@@ -0,0 +1,31 @@
+package dev.vicaw.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import dev.vicaw.model.ImagePayload;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ImagePayloadRepository implements PanacheRepositoryBase<ImagePayload, UUID> {
+
+    public Optional<byte[]> findData(UUID id) {
+        return getEntityManager().createQuery(
+                "select p.data from ImagePayload p where p.id = :id and p.data is not null", byte[].class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Imagens que ainda guardam o conteúdo na coluna data, em ordem de id.
+    public List<UUID> listLegacyIds(UUID afterId, int limit) {
+        return getEntityManager().createQuery(
+                "select p.id from ImagePayload p where p.data is not null and p.id > :afterId order by p.id",
+                UUID.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
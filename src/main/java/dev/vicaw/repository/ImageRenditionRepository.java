@@ -0,0 +1,31 @@
+package dev.vicaw.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import dev.vicaw.model.ImageRendition;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ImageRenditionRepository implements PanacheRepository<ImageRendition> {
+
+    private static final String QUERY_BY_NAME_AND_SIZE = "imageName = :imageName and width = :width and height = :height";
+
+    public Optional<ImageRendition> findByNameAndSize(String imageName, int width, int height) {
+        return find(QUERY_BY_NAME_AND_SIZE,
+                Parameters.with("imageName", imageName).and("width", width).and("height", height))
+                .firstResultOptional();
+    }
+
+    public List<ImageRendition> listByNamesAndSize(Collection<String> imageNames, int width, int height) {
+        return list("imageName in :imageNames and width = :width and height = :height",
+                Parameters.with("imageNames", imageNames).and("width", width).and("height", height));
+    }
+
+    public long deleteByName(String imageName) {
+        return delete("imageName", imageName);
+    }
+}
@@ -1,26 +1,102 @@
 package dev.vicaw.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
 import dev.vicaw.model.Image;
 import dev.vicaw.model.response.ImageInfoResponse;
+import dev.vicaw.model.response.ImagePreviewResponse;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 
 @ApplicationScoped
 public class ImageRepository implements PanacheRepository<Image> {
+
+    // Nenhuma receita ou usuário aponta para a imagem i.
+    private static final String UNREFERENCED = " not exists (select r.id from Recipe r where r.imageName = i.name)"
+            + " and not exists (select u.id from User u where u.imageName = i.name)";
+
+    // Quantas receitas e usuários de fato apontam para a imagem i.
+    private static final String ACTUAL_REFERENCES = "cast((select count(r.id) from Recipe r where r.imageName = i.name)"
+            + " + (select count(u.id) from User u where u.imageName = i.name) as Integer)";
+
     public Optional<Image> findByName(String name) {
         return find("name", name).firstResultOptional();
     }
 
+    public Optional<Image> findByHash(String hash) {
+        return find("hash", hash).firstResultOptional();
+    }
+
+    // Atualização atômica no banco, para não perder incrementos de uploads simultâneos.
+    public int addReferences(String name, int delta) {
+        return update("referenceCount = referenceCount + ?1 where name = ?2", delta, name);
+    }
+
+    public int updateAppearance(String name, String dominantColor, String placeholder) {
+        return update("dominantColor = ?1, placeholder = ?2 where name = ?3", dominantColor, placeholder, name);
+    }
+
     public List<ImageInfoResponse> listImageInfo() {
         return findAll().project(ImageInfoResponse.class).list();
     }
 
+    public List<ImagePreviewResponse> listPreviewsByName(Collection<String> names) {
+        return find("name in ?1", names).project(ImagePreviewResponse.class).list();
+    }
+
+    public List<ImageInfoResponse> listImageInfoByName(Collection<String> names) {
+        return find("name in ?1", names).project(ImageInfoResponse.class).list();
+    }
+
     public Optional<ImageInfoResponse> findImageInfoByName(String name) {
         return find("name", name).project(ImageInfoResponse.class).firstResultOptional();
     }
 
-}
\ No newline at end of file
+    // Imagens sem referências criadas antes de createdBefore, em ordem de id.
+    public List<UUID> listOrphanIds(LocalDateTime createdBefore, UUID afterId, int limit) {
+        return getEntityManager().createQuery(
+                "select i.id from Image i where i.referenceCount <= 0 and i.createdAt < :createdBefore"
+                        + " and i.id > :afterId and" + UNREFERENCED + " order by i.id",
+                UUID.class)
+                .setParameter("createdBefore", createdBefore)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Imagens com referências criadas antes de createdBefore, em ordem de id.
+    public List<UUID> listReferencedIds(LocalDateTime createdBefore, UUID afterId, int limit) {
+        return getEntityManager().createQuery(
+                "select i.id from Image i where i.referenceCount > 0 and i.createdAt < :createdBefore"
+                        + " and i.id > :afterId order by i.id",
+                UUID.class)
+                .setParameter("createdBefore", createdBefore)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Recalcula, num update só, o contador das imagens a partir das fotos que apontam para elas.
+    // Retorna quantas estavam com o contador errado.
+    public int reconcileReferenceCounts(Collection<UUID> ids) {
+        return getEntityManager().createQuery(
+                "update Image i set i.referenceCount = " + ACTUAL_REFERENCES
+                        + " where i.id in :ids and i.referenceCount <> " + ACTUAL_REFERENCES)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public boolean isOrphan(UUID id) {
+        return getEntityManager().createQuery(
+                "select count(i) from Image i where i.id = :id and i.referenceCount <= 0 and" + UNREFERENCED,
+                Long.class)
+                .setParameter("id", id)
+                .getSingleResult() > 0;
+    }
+
+}
@@ -1,10 +1,16 @@
 package dev.vicaw.repository;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import dev.vicaw.model.Rating;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import dev.vicaw.model.RatingAggregate;
+import dev.vicaw.model.RatingCursor;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
@@ -13,21 +19,72 @@ import jakarta.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class RatingRepository implements PanacheRepository<Rating> {
 
-    private static final String QUERY_BY_RECIPE_ID = "recipe.id = ?1";
     private static final String QUERY_BY_USER_AND_RECIPE_ID = "user.id = :userId and recipe.id = :recipeId";
 
     private static final String ORDER_BY_HIGHEST_SCORE = "highest";
     private static final String ORDER_BY_LOWEST_SCORE = "lowest";
     private static final String ORDER_BY_RECENTLY_CREATED = "recent";
 
+    // O id desempata avaliações com a mesma chave, para que a ordem seja total e o cursor
+    // não pule nem repita linhas.
     private static final Map<String, Sort> SORT_OPTIONS = Map.of(
-            ORDER_BY_HIGHEST_SCORE, Sort.by("score").descending(),
-            ORDER_BY_LOWEST_SCORE, Sort.by("score").ascending(),
-            ORDER_BY_RECENTLY_CREATED, Sort.by("createdAt").descending());
+            ORDER_BY_HIGHEST_SCORE, Sort.by("score").descending().and("id").descending(),
+            ORDER_BY_LOWEST_SCORE, Sort.by("score").ascending().and("id").ascending(),
+            ORDER_BY_RECENTLY_CREATED, Sort.by("createdAt").descending().and("id").descending());
 
-    public PanacheQuery<Rating> listAllRecipeRatings(Long recipeId, String orderBy) {
-        Sort sort = SORT_OPTIONS.getOrDefault(orderBy, SORT_OPTIONS.get(ORDER_BY_RECENTLY_CREATED));
-        return find(QUERY_BY_RECIPE_ID, sort, recipeId);
+    // Avaliações depois do cursor em cada ordenação, cobertas pelos índices
+    // (recipe_id, score, id) e (recipe_id, createdAt, id).
+    private static final Map<String, String> AFTER_CURSOR = Map.of(
+            ORDER_BY_HIGHEST_SCORE, "(score < :key or (score = :key and id < :id))",
+            ORDER_BY_LOWEST_SCORE, "(score > :key or (score = :key and id > :id))",
+            ORDER_BY_RECENTLY_CREATED, "(createdAt < :key or (createdAt = :key and id < :id))");
+
+    public static String resolveOrder(String orderBy) {
+        return SORT_OPTIONS.containsKey(orderBy) ? orderBy : ORDER_BY_RECENTLY_CREATED;
+    }
+
+    public static RatingCursor cursorAfter(Rating rating, String order) {
+        String key = ORDER_BY_RECENTLY_CREATED.equals(order)
+                ? rating.getCreatedAt().toString()
+                : rating.getScore().toString();
+        return new RatingCursor(order, key, rating.getId());
+    }
+
+    // O cursor foi gerado na mesma ordenação e a chave tem o tipo que ela usa.
+    public static boolean acceptsCursor(RatingCursor cursor, String order) {
+        if (!cursor.getOrderBy().equals(order))
+            return false;
+
+        try {
+            cursorKey(order, cursor.getKey());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Até limit avaliações da receita a partir do cursor (ou do início, se for nulo), sem OFFSET nem count.
+    public List<Rating> listRecipeRatings(Long recipeId, String order, RatingCursor after, int limit) {
+        String query = "recipe.id = :recipeId";
+        Parameters parameters = Parameters.with("recipeId", recipeId);
+
+        if (after != null) {
+            query += " and " + AFTER_CURSOR.get(order);
+            parameters = parameters.and("key", cursorKey(order, after.getKey())).and("id", after.getId());
+        }
+
+        return find(query, SORT_OPTIONS.get(order), parameters).page(0, limit).list();
+    }
+
+    private static Object cursorKey(String order, String key) {
+        if (!ORDER_BY_RECENTLY_CREATED.equals(order))
+            return Integer.valueOf(key);
+
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida no cursor: " + key, e);
+        }
     }
 
     public Optional<Rating> getUserRating(Long userId, Long recipeId) {
@@ -40,17 +97,27 @@ public class RatingRepository implements PanacheRepository<Rating> {
         return getUserRating(userId, recipeId).isPresent();
     }
 
-    public Long ratingCount(Long recipeId) {
-        return find(QUERY_BY_RECIPE_ID, recipeId).count();
-    }
+    // Agrega as notas de várias receitas numa única consulta. Receitas sem avaliações ficam fora do mapa,
+    // assim como notas nulas ou fora de 1 a 5, que não têm posição no histograma.
+    public Map<Long, RatingAggregate> aggregateByRecipeIds(Collection<Long> recipeIds) {
+        Map<Long, RatingAggregate> aggregates = new HashMap<>();
+        if (recipeIds.isEmpty())
+            return aggregates;
+
+        List<Object[]> rows = getEntityManager().createQuery(
+                "select r.recipe.id, r.score, count(r) from Rating r where r.recipe.id in :recipeIds"
+                        + " and r.score between 1 and 5 group by r.recipe.id, r.score",
+                Object[].class)
+                .setParameter("recipeIds", recipeIds)
+                .getResultList();
 
-    public Double calculateAverageScore(Long recipeId) {
-        if (ratingCount(recipeId) == 0)
-            return 0.0;
+        Map<Long, Long[]> histograms = new HashMap<>();
+        for (Object[] row : rows) {
+            Long[] histogram = histograms.computeIfAbsent((Long) row[0], id -> new Long[] { 0L, 0L, 0L, 0L, 0L });
+            histogram[(Integer) row[1] - 1] = ((Number) row[2]).longValue();
+        }
 
-        return getEntityManager().createQuery(
-                "select avg(r.score) from Rating r where r.recipe.id = :recipeId", Double.class)
-                .setParameter("recipeId", recipeId)
-                .getSingleResult();
+        histograms.forEach((id, histogram) -> aggregates.put(id, new RatingAggregate(List.of(histogram))));
+        return aggregates;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package dev.vicaw.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
+import dev.vicaw.model.Image;
+import dev.vicaw.model.RatingAggregate;
 import dev.vicaw.model.Recipe;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -19,8 +24,12 @@ public class RecipeRepository implements PanacheRepository<Recipe> {
     private static final Map<String, Sort> SORT_OPTIONS = Map.of(
             ORDER_BY_RECENT, Sort.by("createdAt").descending(),
             ORDER_BY_OLDEST, Sort.by("createdAt").ascending(),
-            ORDER_BY_HIGHEST_SCORE,
-            Sort.by("(select coalesce(avg(ra.score), 0) from Rating ra where ra.recipe.id = r.id)").descending());
+            ORDER_BY_HIGHEST_SCORE, Sort.by("rankingScore").descending().and("id").descending());
+
+    // Média bayesiana (ver RecipeRanking): cada receita começa com priorWeight avaliações fictícias de
+    // nota priorMean. Calculada no banco a partir dos totais já gravados.
+    private static final String RANKING_SCORE = "(:priorMean * :priorWeight + ratingSum)"
+            + " / (:priorWeight + ratingCount)";
 
     public PanacheQuery<Recipe> listRecipes(String orderBy, Integer pageSize, Integer pageNumber) {
         Sort sort = SORT_OPTIONS.getOrDefault(orderBy, SORT_OPTIONS.get(ORDER_BY_HIGHEST_SCORE));
@@ -44,6 +53,79 @@ public class RecipeRepository implements PanacheRepository<Recipe> {
         return query;
     }
 
+    // Soma delta avaliações de nota score (delta negativo remove). O rankingScore é recalculado num
+    // segundo update, com os totais já atualizados, para não depender da ordem em que o banco aplica
+    // as atribuições do SET. A linha continua bloqueada pelo primeiro update até o fim da transação.
+    public int updateRatingTotals(Long recipeId, int score, int delta, double priorMean, double priorWeight) {
+        String scoreCount = scoreCountField(score);
+        update("ratingCount = ratingCount + ?1, ratingSum = ratingSum + ?2, "
+                + scoreCount + " = " + scoreCount + " + ?1 where id = ?3",
+                (long) delta, (long) score * delta, recipeId);
+        return refreshRankingScores(List.of(recipeId), priorMean, priorWeight);
+    }
+
+    public int refreshRankingScores(Collection<Long> recipeIds, double priorMean, double priorWeight) {
+        return update("rankingScore = " + RANKING_SCORE + " where id in :recipeIds",
+                Parameters.with("priorMean", priorMean).and("priorWeight", priorWeight).and("recipeIds", recipeIds));
+    }
+
+    // Receitas avaliadas cujo rankingScore não corresponde à configuração atual (ou aos totais
+    // preenchidos depois), em ordem de id. Sem mudanças, nenhuma linha é reescrita.
+    public List<Long> listIdsWithStaleRanking(double priorMean, double priorWeight, Long afterId, int limit) {
+        return getEntityManager().createQuery(
+                "select id from Recipe where id > :afterId and ratingCount > 0"
+                        + " and rankingScore <> " + RANKING_SCORE + " order by id",
+                Long.class)
+                .setParameter("priorMean", priorMean)
+                .setParameter("priorWeight", priorWeight)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Receitas cujos totais não batem com o histograma, ou zerados apesar de haver avaliações
+    // (de antes de as colunas existirem), em ordem de id.
+    public List<Long> listIdsMissingRatingTotals(Long afterId, int limit) {
+        return getEntityManager().createQuery(
+                "select r.id from Recipe r where r.id > :afterId and (r.ratingCount <> r.score1Count"
+                        + " + r.score2Count + r.score3Count + r.score4Count + r.score5Count"
+                        + " or (r.ratingCount = 0 and exists (select ra.id from Rating ra where ra.recipe.id = r.id)))"
+                        + " order by r.id",
+                Long.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public int setRatingTotals(Long recipeId, RatingAggregate aggregate) {
+        List<Long> histogram = aggregate.getHistogram();
+        return update("ratingCount = ?1, ratingSum = ?2, score1Count = ?3, score2Count = ?4, score3Count = ?5,"
+                + " score4Count = ?6, score5Count = ?7 where id = ?8",
+                aggregate.getCount(), aggregate.getSum(), histogram.get(0), histogram.get(1), histogram.get(2),
+                histogram.get(3), histogram.get(4), recipeId);
+    }
+
+    // Preenche imageName de até limit receitas gravadas antes da coluna existir. O nome é
+    // extraído com Image.nameFromUrl, a mesma regra usada ao salvar; retorna quantas preencheu.
+    public int fillMissingImageNames(int limit) {
+        List<Object[]> rows = getEntityManager().createQuery(
+                "select r.id, r.urlFoto from Recipe r where r.imageName is null and r.urlFoto like '%/images/%'",
+                Object[].class)
+                .setMaxResults(limit)
+                .getResultList();
+
+        for (Object[] row : rows)
+            update("imageName = ?1 where id = ?2", Image.nameFromUrl((String) row[1]), row[0]);
+        return rows.size();
+    }
+
+    private static String scoreCountField(int score) {
+        if (score < 1 || score > 5)
+            throw new IllegalArgumentException("Nota fora do intervalo de 1 a 5: " + score);
+
+        return "score" + score + "Count";
+    }
+
     public PanacheQuery<Recipe> search(String query, String orderBy, Integer pageNumber, Integer pageSize) {
         Sort sort = SORT_OPTIONS.getOrDefault(orderBy, SORT_OPTIONS.get(ORDER_BY_HIGHEST_SCORE));
         PanacheQuery<Recipe> panacheQuery = find(
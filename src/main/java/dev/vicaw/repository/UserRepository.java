@@ -1,5 +1,8 @@
 package dev.vicaw.repository;
 
+import java.util.List;
+
+import dev.vicaw.model.Image;
 import dev.vicaw.model.User;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -7,4 +10,17 @@ import jakarta.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
 
+    // Preenche imageName de até limit usuários gravados antes da coluna existir. O nome é
+    // extraído com Image.nameFromUrl, a mesma regra usada ao salvar; retorna quantos preencheu.
+    public int fillMissingImageNames(int limit) {
+        List<Object[]> rows = getEntityManager().createQuery(
+                "select u.id, u.photoUrl from User u where u.imageName is null and u.photoUrl like '%/images/%'",
+                Object[].class)
+                .setMaxResults(limit)
+                .getResultList();
+
+        for (Object[] row : rows)
+            update("imageName = ?1 where id = ?2", Image.nameFromUrl((String) row[1]), row[0]);
+        return rows.size();
+    }
 }
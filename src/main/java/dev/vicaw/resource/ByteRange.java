@@ -0,0 +1,68 @@
+package dev.vicaw.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Value;
+
+// Intervalo de bytes de um cabeçalho Range (RFC 7233), com as posições inclusivas.
+@Value
+public class ByteRange {
+    private static final String UNIT = "bytes=";
+    private static final int MAX_RANGES = 16;
+
+    long start;
+    long end;
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String toContentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    // Retorna null quando o cabeçalho deve ser ignorado (malformado ou com intervalos demais)
+    // e uma lista vazia quando nenhum intervalo pode ser atendido.
+    public static List<ByteRange> parse(String header, long size) {
+        if (header == null || !header.startsWith(UNIT))
+            return null;
+
+        String[] specs = header.substring(UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES)
+            return null;
+
+        List<ByteRange> ranges = new ArrayList<>();
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0)
+                return null;
+
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+
+                if (first.isEmpty()) {
+                    // Sufixo: os últimos N bytes.
+                    long suffix = Long.parseLong(last);
+                    if (suffix > 0 && size > 0)
+                        ranges.add(new ByteRange(Math.max(0, size - suffix), size - 1));
+                    continue;
+                }
+
+                long start = Long.parseLong(first);
+                if (!last.isEmpty() && Long.parseLong(last) < start)
+                    return null;
+
+                long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                if (start < size)
+                    ranges.add(new ByteRange(start, end));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return ranges;
+    }
+}
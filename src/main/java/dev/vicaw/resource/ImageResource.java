@@ -1,26 +1,71 @@
 package dev.vicaw.resource;
 
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.Variant;
 
-import dev.vicaw.model.Image;
+import dev.vicaw.image.ImageFormat;
+import dev.vicaw.model.RenditionSize;
+import dev.vicaw.model.RenditionSpec;
+import dev.vicaw.model.response.ImageInfoResponse;
 import dev.vicaw.service.ImageService;
+import dev.vicaw.service.RenditionSizePolicy;
+import dev.vicaw.storage.ImageContent;
+import io.smallrye.mutiny.Uni;
 
 @Path("/")
 public class ImageResource {
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+    // Os tamanhos permitidos podem mudar na configuração, então o redirecionamento não é imutável.
+    private static final String CACHE_CONTROL_REDIRECT = "public, max-age=86400";
+    private static final String RANGE = "Range";
+    private static final String IF_RANGE = "If-Range";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final MediaType IMAGE_PNG = MediaType.valueOf(ImageFormat.PNG.getMediaType());
+    // Em caso de empate no Accept (ex.: */*) vale a ordem da lista, então o JPEG é o padrão.
+    private static final List<Variant> SCALED_VARIANTS = Variant
+            .mediaTypes(MediaType.valueOf(ImageFormat.JPEG.getMediaType()), IMAGE_PNG)
+            .build();
+    private static final List<Variant> PNG_VARIANT = Variant.mediaTypes(IMAGE_PNG).build();
 
     @Inject
     ImageService imageService;
 
+    @Inject
+    RenditionSizePolicy renditionSizePolicy;
+
     @GET
     @Path("/api/images/{imageName}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -28,6 +73,39 @@ public class ImageResource {
         return Response.status(Status.OK).entity(imageService.getImageInfoByName(imageName)).build();
     }
 
+    @GET
+    @Path("/api/images/cache/stats")
+    @RolesAllowed({ "ADMIN" })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getRenditionCacheStats() {
+        return Response.status(Status.OK).entity(imageService.getRenditionCacheStats()).build();
+    }
+
+    @GET
+    @Path("/api/images/scaling/stats")
+    @RolesAllowed({ "ADMIN" })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getScalingStats() {
+        return Response.status(Status.OK).entity(imageService.getScalingStats()).build();
+    }
+
+    @POST
+    @Path("/api/images/migrate")
+    @RolesAllowed({ "ADMIN" })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response migrateToImageStore() {
+        return Response.status(Status.OK).entity(imageService.migrateToImageStore()).build();
+    }
+
+    // A coleta roda em segundo plano; o resultado vai para o log.
+    @POST
+    @Path("/api/images/gc")
+    @RolesAllowed({ "ADMIN" })
+    public Response collectGarbage() {
+        imageService.collectGarbage();
+        return Response.status(Status.ACCEPTED).build();
+    }
+
     @DELETE
     @Path("/api/images/{imageName}")
     @RolesAllowed({ "EDITOR", "ADMIN" })
@@ -40,20 +118,242 @@ public class ImageResource {
     @Path("images/{fileName}")
     @GET
     @Consumes(MediaType.MULTIPART_FORM_DATA)
-    @Produces("image/jpg")
-    public Response getImagebyName(@PathParam("fileName") String name) {
-        Image image = imageService.getImageByName(name);
-        return Response.status(Status.OK).entity(image.getData()).build();
+    @Produces({ "image/jpeg", "image/png" })
+    public Response getImagebyName(@PathParam("fileName") String name, @Context Request request,
+            @HeaderParam(RANGE) String range, @HeaderParam(IF_RANGE) String ifRange) {
+        Optional<ImageInfoResponse> info = imageService.findImageInfoByName(name);
+        if (info.isEmpty())
+            return stream(imageService.getDefaultImageContent()).type(ImageFormat.JPEG.getMediaType()).build();
+
+        EntityTag etag = new EntityTag(contentTag(info.get()));
+        Date lastModified = lastModified(info.get());
+
+        ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null)
+            return immutable(notModified, etag, lastModified).build();
+
+        ImageContent content = imageService.getImageContent(info.get());
+
+        // Se o If-Range não corresponder à versão atual, a imagem é enviada inteira.
+        List<ByteRange> ranges = ifRangeMatches(ifRange, etag, lastModified)
+                ? ByteRange.parse(range, content.size())
+                : null;
+
+        if (ranges == null)
+            return immutable(stream(content), etag, lastModified)
+                    .type(contentType(info.get()))
+                    .header(ACCEPT_RANGES, "bytes")
+                    .build();
+
+        if (ranges.isEmpty())
+            return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(CONTENT_RANGE, "bytes */" + content.size())
+                    .build();
+
+        if (ranges.size() == 1) {
+            ByteRange byteRange = ranges.get(0);
+            StreamingOutput output = out -> content.transferTo(out, byteRange.getStart(), byteRange.length());
+            ResponseBuilder response = Response.status(Status.PARTIAL_CONTENT)
+                    .entity(output)
+                    .type(contentType(info.get()))
+                    .header(CONTENT_RANGE, byteRange.toContentRange(content.size()))
+                    .header(HttpHeaders.CONTENT_LENGTH, byteRange.length())
+                    .header(ACCEPT_RANGES, "bytes");
+            return immutable(response, etag, lastModified).build();
+        }
+
+        String boundary = UUID.randomUUID().toString();
+        ResponseBuilder response = Response.status(Status.PARTIAL_CONTENT)
+                .entity(multipartByteRanges(content, contentType(info.get()), ranges, boundary))
+                .type("multipart/byteranges; boundary=" + boundary)
+                .header(ACCEPT_RANGES, "bytes");
+        return immutable(response, etag, lastModified).build();
     }
 
+    // Acertos no cache de miniaturas respondem na hora; as faltas liberam a thread da
+    // requisição enquanto a imagem é gerada no pool de redimensionamento.
     @Path("images/{width}/{height}/{fileName}")
     @GET
     @Consumes(MediaType.MULTIPART_FORM_DATA)
-    @Produces("image/jpg")
-    public Response getImageByNameAndScale(@PathParam("fileName") String name, @PathParam("width") int w,
-            @PathParam("height") int h) {
-        Image image = imageService.getImageByNameAndScale(name, w, h);
-        return Response.status(Status.OK).entity(image.getData()).build();
+    @Produces({ "image/jpeg", "image/png" })
+    public Uni<Response> getImageByNameAndScale(@PathParam("fileName") String name, @PathParam("width") int w,
+            @PathParam("height") int h, @QueryParam("q") Integer quality, @Context Request request) {
+        // Largura ou altura 0 devolve a imagem original.
+        if (w != 0 && h != 0) {
+            RenditionSize size = renditionSizePolicy.resolve(w, h);
+            if (size.getWidth() != w || size.getHeight() != h) {
+                if (renditionSizePolicy.getMode() == RenditionSizePolicy.Mode.REDIRECT) {
+                    UriBuilder location = UriBuilder.fromPath("/images/{width}/{height}/{fileName}");
+                    if (quality != null)
+                        location.queryParam("q", quality);
+
+                    return Uni.createFrom().item(Response.status(Status.MOVED_PERMANENTLY)
+                            .location(location.build(size.getWidth(), size.getHeight(), name))
+                            .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_REDIRECT)
+                            .build());
+                }
+
+                w = size.getWidth();
+                h = size.getHeight();
+            }
+        }
+
+        Optional<ImageInfoResponse> info = imageService.findImageInfoByName(name);
+        if (info.isEmpty()) {
+            if (w == 0 || h == 0)
+                return Uni.createFrom().item(stream(imageService.getDefaultImageContent())
+                        .type(ImageFormat.JPEG.getMediaType())
+                        .build());
+
+            return Uni.createFrom().item(Response.status(Status.OK)
+                    .entity(imageService.getDefaultImageScaled(w, h))
+                    .type(ImageFormat.JPEG.getMediaType())
+                    .build());
+        }
+
+        Date lastModified = lastModified(info.get());
+
+        // O original é servido sem conversão quando nenhuma miniatura é pedida ou quando é um PNG pequeno.
+        boolean original = w == 0 || h == 0
+                || imageService.isPassthrough(info.get(), w, h) && request.selectVariant(PNG_VARIANT) != null;
+        if (original) {
+            EntityTag etag = new EntityTag(contentTag(info.get()));
+            ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+            if (notModified != null)
+                return Uni.createFrom().item(immutable(notModified, etag, lastModified)
+                        .variants(SCALED_VARIANTS)
+                        .build());
+
+            ResponseBuilder response = stream(imageService.getImageContent(info.get()));
+            return Uni.createFrom().item(immutable(response, etag, lastModified)
+                    .type(contentType(info.get()))
+                    .variants(SCALED_VARIANTS)
+                    .build());
+        }
+
+        Variant variant = request.selectVariant(SCALED_VARIANTS);
+        if (variant == null)
+            return Uni.createFrom().item(Response.notAcceptable(SCALED_VARIANTS).build());
+
+        ImageFormat format = variant.getMediaType().equals(IMAGE_PNG) ? ImageFormat.PNG : ImageFormat.JPEG;
+        RenditionSpec spec = imageService.renditionSpec(w, h, format, quality);
+        EntityTag etag = new EntityTag(contentTag(info.get()) + "-" + spec.tag());
+
+        ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null)
+            return Uni.createFrom().item(immutable(notModified, etag, lastModified)
+                    .variants(SCALED_VARIANTS)
+                    .build());
+
+        return imageService.getImageByNameAndScale(info.get(), spec).map(data -> {
+            ResponseBuilder response = Response.status(Status.OK)
+                    .entity(data)
+                    .type(format.getMediaType())
+                    .variants(SCALED_VARIANTS);
+            return immutable(response, etag, lastModified).build();
+        });
+    }
+
+    // Miniaturas de várias imagens num único multipart/mixed, para telas com muitos cards.
+    // Cada parte traz no Content-Location a URL da miniatura correspondente.
+    @Path("images/{width}/{height}")
+    @GET
+    @Produces("multipart/mixed")
+    public Uni<Response> getImagesByNameAndScale(@PathParam("width") int w, @PathParam("height") int h,
+            @QueryParam("name") List<String> names, @QueryParam("q") Integer quality) {
+        RenditionSize size = renditionSizePolicy.resolve(w, h);
+        RenditionSpec spec = imageService.renditionSpec(size.getWidth(), size.getHeight(), ImageFormat.JPEG, quality);
+
+        return imageService.getImagesByNameAndScale(names, spec).map(renditions -> {
+            String boundary = UUID.randomUUID().toString();
+            return Response.status(Status.OK)
+                    .entity(multipartRenditions(renditions, spec, boundary))
+                    .type("multipart/mixed; boundary=" + boundary)
+                    .build();
+        });
+    }
+
+    private ResponseBuilder stream(ImageContent content) {
+        StreamingOutput output = content::transferTo;
+        return Response.status(Status.OK)
+                .entity(output)
+                .header(HttpHeaders.CONTENT_LENGTH, content.size());
+    }
+
+    private StreamingOutput multipartByteRanges(ImageContent content, String contentType, List<ByteRange> ranges,
+            String boundary) {
+        return out -> {
+            for (ByteRange byteRange : ranges) {
+                String partHeaders = "\r\n--" + boundary
+                        + "\r\nContent-Type: " + contentType
+                        + "\r\n" + CONTENT_RANGE + ": " + byteRange.toContentRange(content.size())
+                        + "\r\n\r\n";
+                out.write(partHeaders.getBytes(StandardCharsets.US_ASCII));
+                content.transferTo(out, byteRange.getStart(), byteRange.length());
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        };
+    }
+
+    private StreamingOutput multipartRenditions(Map<String, byte[]> renditions, RenditionSpec spec,
+            String boundary) {
+        return out -> {
+            for (Map.Entry<String, byte[]> rendition : renditions.entrySet()) {
+                String location = UriBuilder.fromPath("/images/{width}/{height}/{fileName}")
+                        .build(spec.getWidth(), spec.getHeight(), rendition.getKey())
+                        .toString();
+                String partHeaders = "\r\n--" + boundary
+                        + "\r\nContent-Type: " + spec.getFormat().getMediaType()
+                        + "\r\nContent-Length: " + rendition.getValue().length
+                        + "\r\nContent-Location: " + location
+                        + "\r\n\r\n";
+                out.write(partHeaders.getBytes(StandardCharsets.US_ASCII));
+                out.write(rendition.getValue());
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        };
+    }
+
+    // Os nomes das imagens têm prefixo UUID e nunca mudam de conteúdo.
+    private ResponseBuilder immutable(ResponseBuilder response, EntityTag etag, Date lastModified) {
+        return response.tag(etag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_IMMUTABLE);
+    }
+
+    // O If-Range traz uma ETag forte ou a data do Last-Modified; valores que não se encaixam em
+    // nenhum dos dois não correspondem à versão atual.
+    private boolean ifRangeMatches(String ifRange, EntityTag etag, Date lastModified) {
+        if (ifRange == null)
+            return true;
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/"))
+            return ifRange.equals('"' + etag.getValue() + '"');
+
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+                    .equals(lastModified.toInstant());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // Imagens ainda não migradas para o ImageStore não têm hash, mas o id também é imutável.
+    private String contentTag(ImageInfoResponse info) {
+        return info.getHash() != null ? info.getHash() : info.getId().toString();
+    }
+
+    // Imagens antigas não guardam o tipo.
+    private String contentType(ImageInfoResponse info) {
+        return info.getContentType() != null
+                ? info.getContentType()
+                : ImageFormat.fromFileName(info.getName()).getMediaType();
+    }
+
+    private Date lastModified(ImageInfoResponse info) {
+        return Date.from(info.getCreatedAt().truncatedTo(ChronoUnit.SECONDS)
+                .atZone(ZoneId.systemDefault())
+                .toInstant());
     }
 
 }
@@ -28,9 +28,9 @@ public class RatingResource {
     public Response getRecipeRating(
             @PathParam("recipeId") Long recipeId,
             @DefaultValue("10") @QueryParam("pagesize") int pagesize,
-            @DefaultValue("0") @QueryParam("page") int page,
+            @QueryParam("cursor") String cursor,
             @DefaultValue("recent") @QueryParam("orderBy") String orderBy) {
-        return Response.status(Status.OK).entity(ratingService.listRecipeRatings(recipeId, pagesize, page, orderBy))
+        return Response.status(Status.OK).entity(ratingService.listRecipeRatings(recipeId, pagesize, cursor, orderBy))
                 .build();
     }
 
@@ -0,0 +1,97 @@
+package dev.vicaw.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.image.ImageScaler;
+import dev.vicaw.model.RenditionSize;
+import dev.vicaw.storage.ByteArrayImageContent;
+import dev.vicaw.storage.ImageContent;
+import io.quarkus.runtime.Startup;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// Imagem servida quando a pedida não existe. É lida e decodificada uma única vez na
+// inicialização, e cada tamanho pedido é gerado uma vez só. Os arrays retornados são
+// compartilhados entre as requisições e não devem ser alterados.
+@Startup
+@ApplicationScoped
+public class FallbackImage {
+    private static final String RESOURCE = "notfound.jpg";
+
+    @Inject
+    ImageScaler imageScaler;
+
+    @Inject
+    ImageScalingExecutor scalingExecutor;
+
+    // Os tamanhos vêm da URL, então o número de versões guardadas precisa de limite.
+    @ConfigProperty(name = "images.fallback.max-renditions", defaultValue = "32")
+    long maxRenditions;
+
+    private byte[] original;
+
+    private BufferedImage decoded;
+
+    private Cache<RenditionSize, byte[]> renditions;
+
+    @PostConstruct
+    void init() {
+        try (InputStream in = FallbackImage.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null)
+                throw new IllegalStateException("Imagem padrão não encontrada: " + RESOURCE);
+
+            original = in.readAllBytes();
+            decoded = ImageIO.read(new ByteArrayInputStream(original));
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível carregar a imagem padrão.", e);
+        }
+
+        renditions = Caffeine.newBuilder()
+                .maximumSize(maxRenditions)
+                .build();
+    }
+
+    public ImageContent content() {
+        return new ByteArrayImageContent(original);
+    }
+
+    public byte[] scaled(int w, int h) {
+        return renditions.get(new RenditionSize(w, h),
+                size -> scalingExecutor.call(() -> scale(size.getWidth(), size.getHeight())));
+    }
+
+    // Como scaled, sem bloquear quem chama: a geração roda no pool de redimensionamento. Se o
+    // pool recusar a tarefa ou ela falhar, devolve a imagem padrão sem redimensionar, que não
+    // depende do pool. Nunca falha.
+    public Uni<byte[]> scaledAsync(int w, int h) {
+        RenditionSize size = new RenditionSize(w, h);
+        byte[] cached = renditions.getIfPresent(size);
+        if (cached != null)
+            return Uni.createFrom().item(cached);
+
+        return scalingExecutor.submit(() -> scale(w, h))
+                .invoke(data -> renditions.put(size, data))
+                .onFailure().recoverWithItem(original);
+    }
+
+    private byte[] scale(int w, int h) {
+        try {
+            return imageScaler.scale(decoded, w, h);
+        } catch (IOException e) {
+            throw new ApiException(500, "I/O Exception Error");
+        }
+    }
+}
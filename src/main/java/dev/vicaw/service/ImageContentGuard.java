@@ -0,0 +1,101 @@
+package dev.vicaw.service;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.logging.Logger;
+
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.storage.ImageStore;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.TransactionRunnerOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+// Coordena, por hash, a remoção de um conteúdo do ImageStore com os uploads do mesmo conteúdo.
+// Quem remove confere, com o lock do hash, que nenhuma imagem usa o conteúdo. O upload grava o
+// conteúdo antes de a imagem existir no banco, então marca o hash como pendente até o fim da
+// transação; conteúdos pendentes não são removidos. Se a transação é desfeita, o conteúdo
+// gravado pelo upload é removido, se nenhuma imagem o usa.
+@ApplicationScoped
+public class ImageContentGuard {
+    private static final Logger LOG = Logger.getLogger(ImageContentGuard.class);
+
+    private static final int STRIPES = 64;
+
+    private final Object[] locks = new Object[STRIPES];
+
+    // Uploads ainda não confirmados, por hash.
+    private final ConcurrentMap<String, Integer> pending = new ConcurrentHashMap<>();
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    ImageStore imageStore;
+
+    public ImageContentGuard() {
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new Object();
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), STRIPES)];
+    }
+
+    // Marca o conteúdo como pendente. Falso se ele foi removido depois de gravado; nesse caso
+    // nada fica marcado. Quem marca dispara um ImageContentSavedEvent na mesma transação.
+    public boolean pin(String hash) {
+        synchronized (lockFor(hash)) {
+            if (!imageStore.exists(hash))
+                return false;
+
+            pending.merge(hash, 1, Integer::sum);
+            return true;
+        }
+    }
+
+    // Remove o conteúdo se nenhuma imagem o usa. Usa a transação atual, se houver, para
+    // enxergar a remoção da imagem feita por quem chamou.
+    public boolean deleteIfUnused(String hash) throws IOException {
+        return deleteIfUnused(hash, QuarkusTransaction.joiningExisting());
+    }
+
+    private boolean deleteIfUnused(String hash, TransactionRunnerOptions transaction) throws IOException {
+        synchronized (lockFor(hash)) {
+            if (pending.containsKey(hash))
+                return false;
+
+            boolean unused = transaction.call(() -> imageRepository.count("hash", hash) == 0);
+            if (unused)
+                imageStore.delete(hash);
+            return unused;
+        }
+    }
+
+    private void unpin(String hash) {
+        pending.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    void onContentSaved(@Observes(during = TransactionPhase.AFTER_SUCCESS) ImageContentSavedEvent event) {
+        synchronized (lockFor(event.getHash())) {
+            unpin(event.getHash());
+        }
+    }
+
+    // A transação do upload (ou a de quem o chamou) foi desfeita: nenhuma linha aponta para o
+    // conteúdo gravado, e o coletor só percorre as imagens do banco.
+    void onContentRolledBack(@Observes(during = TransactionPhase.AFTER_FAILURE) ImageContentSavedEvent event) {
+        synchronized (lockFor(event.getHash())) {
+            unpin(event.getHash());
+            try {
+                deleteIfUnused(event.getHash(), QuarkusTransaction.requiringNew());
+            } catch (IOException | RuntimeException e) {
+                LOG.warnf(e, "Falha ao remover o conteúdo %s de um upload desfeito", event.getHash());
+            }
+        }
+    }
+}
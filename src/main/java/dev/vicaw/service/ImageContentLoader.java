@@ -0,0 +1,33 @@
+package dev.vicaw.service;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.UUID;
+
+import dev.vicaw.repository.ImagePayloadRepository;
+import dev.vicaw.storage.ByteArrayImageContent;
+import dev.vicaw.storage.ImageContent;
+import dev.vicaw.storage.ImageStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// Abre o conteúdo de uma imagem a partir dos metadados: pelo hash no ImageStore ou,
+// para imagens ainda não migradas, pela coluna images.data.
+@ApplicationScoped
+public class ImageContentLoader {
+
+    @Inject
+    ImageStore imageStore;
+
+    @Inject
+    ImagePayloadRepository imagePayloadRepository;
+
+    public ImageContent open(UUID id, String hash) throws IOException {
+        if (hash != null)
+            return imageStore.open(hash);
+
+        byte[] data = imagePayloadRepository.findData(id)
+                .orElseThrow(() -> new NoSuchFileException(String.valueOf(id)));
+        return new ByteArrayImageContent(data);
+    }
+}
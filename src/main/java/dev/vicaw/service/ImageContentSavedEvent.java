@@ -0,0 +1,9 @@
+package dev.vicaw.service;
+
+import lombok.Value;
+
+// Disparado quando uma imagem nova passa a usar um conteúdo do ImageStore, ainda não confirmado.
+@Value
+public class ImageContentSavedEvent {
+    String hash;
+}
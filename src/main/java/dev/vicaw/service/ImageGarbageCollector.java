@@ -0,0 +1,238 @@
+package dev.vicaw.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import dev.vicaw.model.Image;
+import dev.vicaw.model.response.ImageGcResponse;
+import dev.vicaw.repository.ImageRenditionRepository;
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.repository.RecipeRepository;
+import dev.vicaw.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.Value;
+
+// Remove as imagens que nenhuma receita ou usuário usa mais. O contador de referências
+// só seleciona as candidatas; antes de apagar, cada uma é conferida contra a imagem de
+// Recipe.urlFoto e User.photoUrl (coluna imageName), já que imagens antigas não têm o
+// contador preenchido. Cada coleta começa acertando os contadores positivos pelas fotos.
+// Imagens recém-enviadas são ignoradas durante o período de carência, pois o upload
+// acontece antes de a receita ou o usuário serem salvos.
+@ApplicationScoped
+public class ImageGarbageCollector {
+    private static final Logger LOG = Logger.getLogger(ImageGarbageCollector.class);
+
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    // Lote do preenchimento de imageName e do acerto dos contadores, que não removem nada.
+    private static final int BULK_BATCH = 500;
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    ImageRenditionRepository imageRenditionRepository;
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    ImageRenditionCache renditionCache;
+
+    @Inject
+    ImageContentGuard imageContentGuard;
+
+    @ConfigProperty(name = "images.gc.grace-period", defaultValue = "24H")
+    Duration gracePeriod;
+
+    @ConfigProperty(name = "images.gc.batch-size", defaultValue = "20")
+    int batchSize;
+
+    @ConfigProperty(name = "images.gc.max-per-run", defaultValue = "500")
+    int maxPerRun;
+
+    // Pausa entre lotes, para não disputar o banco com as requisições.
+    @ConfigProperty(name = "images.gc.batch-pause-ms", defaultValue = "500")
+    long batchPauseMillis;
+
+    // Receitas e usuários gravados antes da coluna imageName seriam vistos como sem foto.
+    // Preenchidos em lotes, cada um na sua transação.
+    void onStart(@Observes StartupEvent event) {
+        int filled = 0;
+        int batch;
+        do {
+            batch = QuarkusTransaction.requiringNew().call(() -> recipeRepository.fillMissingImageNames(BULK_BATCH)
+                    + userRepository.fillMissingImageNames(BULK_BATCH));
+            filled += batch;
+        } while (batch > 0);
+
+        if (filled > 0)
+            LOG.infof("Nome da imagem preenchido em %d receitas e usuários.", filled);
+    }
+
+    // Evita que a coleta agendada e a pedida pela API rodem ao mesmo tempo.
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(every = "${images.gc.every:1h}", delayed = "5m",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledSweep() {
+        if (running.compareAndSet(false, true))
+            logSweep();
+    }
+
+    // Inicia uma coleta num worker, sem prender a requisição durante as pausas entre lotes.
+    // Retorna false se já há uma coleta em andamento.
+    public boolean startSweep() {
+        if (!running.compareAndSet(false, true))
+            return false;
+
+        Infrastructure.getDefaultWorkerPool().execute(this::logSweep);
+        return true;
+    }
+
+    private void logSweep() {
+        try {
+            ImageGcResponse result = sweep();
+            if (result.getReconciled() > 0 || result.getDeleted() > 0 || result.getFailed() > 0)
+                LOG.infof("Coleta de imagens: %d contadores acertados, %d removidas, %d falhas, %d bytes liberados",
+                        result.getReconciled(), result.getDeleted(), result.getFailed(), result.getReclaimedBytes());
+        } catch (Exception e) {
+            LOG.error("Falha na coleta de imagens", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public ImageGcResponse sweep() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(gracePeriod);
+        long reconciled = reconcile(createdBefore);
+        long deleted = 0;
+        long skipped = 0;
+        long failed = 0;
+        long reclaimedBytes = 0;
+        int processed = 0;
+        UUID lastId = FIRST_ID;
+
+        while (processed < maxPerRun) {
+            UUID afterId = lastId;
+            int limit = Math.min(batchSize, maxPerRun - processed);
+            List<UUID> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> imageRepository.listOrphanIds(createdBefore, afterId, limit));
+
+            if (ids.isEmpty())
+                break;
+
+            for (UUID id : ids) {
+                try {
+                    Optional<Long> reclaimed = collect(id);
+                    if (reclaimed.isPresent()) {
+                        deleted++;
+                        reclaimedBytes += reclaimed.get();
+                    } else {
+                        skipped++;
+                    }
+                } catch (Exception e) {
+                    LOG.warnf(e, "Falha ao remover a imagem %s", id);
+                    failed++;
+                }
+                lastId = id;
+                processed++;
+            }
+
+            if (!pause())
+                break;
+        }
+
+        return ImageGcResponse.builder()
+                .reconciled(reconciled)
+                .deleted(deleted)
+                .skipped(skipped)
+                .failed(failed)
+                .reclaimedBytes(reclaimedBytes)
+                .build();
+    }
+
+    // Um contador positivo que não bate com as fotos (imagens anteriores ao contador, falhas
+    // antigas) nunca deixaria a imagem virar candidata. Acerta os contadores em lotes e
+    // retorna quantos estavam errados.
+    long reconcile(LocalDateTime createdBefore) {
+        long reconciled = 0;
+        UUID lastId = FIRST_ID;
+
+        while (true) {
+            UUID afterId = lastId;
+            List<UUID> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> imageRepository.listReferencedIds(createdBefore, afterId, BULK_BATCH));
+
+            if (ids.isEmpty())
+                break;
+
+            reconciled += QuarkusTransaction.requiringNew()
+                    .call(() -> imageRepository.reconcileReferenceCounts(ids));
+            lastId = ids.get(ids.size() - 1);
+
+            if (!pause())
+                break;
+        }
+
+        return reconciled;
+    }
+
+    // Retorna os bytes liberados no ImageStore, ou vazio se a imagem ganhou uma referência.
+    Optional<Long> collect(UUID id) throws Exception {
+        // Confere de novo dentro da transação: a imagem pode ter ganhado uma referência
+        // (upload do mesmo conteúdo) depois de listada.
+        Optional<CollectedImage> collected = QuarkusTransaction.requiringNew().call(() -> {
+            if (!imageRepository.isOrphan(id))
+                return Optional.empty();
+
+            Image image = imageRepository.find("id", id).firstResult();
+            imageRepository.delete(image);
+            imageRenditionRepository.deleteByName(image.getName());
+            return Optional.of(new CollectedImage(image.getName(), image.getHash(), image.getSize()));
+        });
+
+        if (collected.isEmpty())
+            return Optional.empty();
+
+        CollectedImage image = collected.get();
+        renditionCache.invalidate(image.getName());
+
+        // Depois do commit, um upload do mesmo conteúdo pode ter criado outra imagem: o
+        // conteúdo só é removido se continuar sem uso.
+        boolean reclaimed = image.getHash() != null && imageContentGuard.deleteIfUnused(image.getHash());
+        return Optional.of(reclaimed && image.getSize() != null ? image.getSize() : 0L);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Value
+    static class CollectedImage {
+        String name;
+        String hash;
+        Long size;
+    }
+}
@@ -0,0 +1,129 @@
+package dev.vicaw.service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import dev.vicaw.model.RenditionSpec;
+import dev.vicaw.model.response.ImageCacheStatsResponse;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.Value;
+
+// Cache das imagens redimensionadas, limitado pelo total de bytes armazenados.
+// O Caffeine usa W-TinyLFU para decidir o que remover quando o limite é atingido.
+@ApplicationScoped
+public class ImageRenditionCache {
+
+    @ConfigProperty(name = "images.rendition-cache.max-bytes", defaultValue = "67108864")
+    long maxBytes;
+
+    private Cache<RenditionKey, byte[]> cache;
+
+    private final ConcurrentMap<RenditionKey, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((RenditionKey key, byte[] data) -> data.length)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<byte[]> get(String name, RenditionSpec spec) {
+        return Optional.ofNullable(cache.getIfPresent(new RenditionKey(name, spec)));
+    }
+
+    public void put(String name, RenditionSpec spec, byte[] data) {
+        cache.put(new RenditionKey(name, spec), data);
+    }
+
+    // Garante que cada miniatura seja gerada uma vez só: quem chega enquanto ela está sendo
+    // gerada recebe o mesmo resultado, sem ficar bloqueado esperando. O loader é responsável
+    // por colocar o resultado no cache, se for o caso.
+    public Uni<byte[]> coalesceAsync(String name, RenditionSpec spec, Supplier<Uni<byte[]>> loader) {
+        RenditionKey key = new RenditionKey(name, spec);
+        CompletableFuture<byte[]> flight = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return subscribe(existing);
+        }
+
+        byte[] data = cache.asMap().get(key);
+        if (data != null) {
+            flight.complete(data);
+            inFlight.remove(key, flight);
+            return Uni.createFrom().item(data);
+        }
+
+        try {
+            loader.get().subscribe().with(
+                    item -> {
+                        flight.complete(item);
+                        inFlight.remove(key, flight);
+                    },
+                    failure -> {
+                        flight.completeExceptionally(failure);
+                        inFlight.remove(key, flight);
+                    });
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            inFlight.remove(key, flight);
+        }
+        return subscribe(flight);
+    }
+
+    // Cancelar um Uni criado de um CompletableFuture cancela o future. Cada assinante recebe
+    // uma cópia, para que quem desiste (cliente desconectado, tempo esgotado) não cancele o
+    // resultado dos outros.
+    private static Uni<byte[]> subscribe(CompletableFuture<byte[]> flight) {
+        return Uni.createFrom().completionStage(flight::copy);
+    }
+
+    public void invalidate(String name) {
+        cache.asMap().keySet().removeIf(key -> key.getName().equals(name));
+    }
+
+    public ImageCacheStatsResponse stats() {
+        // O Caffeine atualiza o peso total de forma assíncrona; aplica as escritas pendentes antes de ler.
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+
+        return ImageCacheStatsResponse.builder()
+                .entries(cache.estimatedSize())
+                .bytes(weightedSize)
+                .maxBytes(maxBytes)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionBytes(stats.evictionWeight())
+                .inFlight(inFlight.size())
+                .coalescedCount(coalesced.sum())
+                .build();
+    }
+
+    @Value
+    static class RenditionKey {
+        String name;
+        RenditionSpec spec;
+    }
+}
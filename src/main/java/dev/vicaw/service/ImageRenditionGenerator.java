@@ -0,0 +1,137 @@
+package dev.vicaw.service;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import dev.vicaw.image.ImageAnalyzer;
+import dev.vicaw.image.ImageDecoder;
+import dev.vicaw.image.ImageScaler;
+import dev.vicaw.model.ImageRendition;
+import dev.vicaw.model.RenditionSize;
+import dev.vicaw.model.response.ImageInfoResponse;
+import dev.vicaw.repository.ImageRenditionRepository;
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.storage.ImageContent;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+// Gera as miniaturas padrão, a cor predominante e o placeholder logo após o upload,
+// fora da thread e da transação da requisição.
+@ApplicationScoped
+public class ImageRenditionGenerator {
+    private static final Logger LOG = Logger.getLogger(ImageRenditionGenerator.class);
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    ImageRenditionRepository imageRenditionRepository;
+
+    @Inject
+    ImageContentLoader imageContentLoader;
+
+    @Inject
+    ImageScaler imageScaler;
+
+    @Inject
+    ImageAnalyzer imageAnalyzer;
+
+    @ConfigProperty(name = "images.renditions.sizes", defaultValue = "64x64,320x240,1280x720")
+    List<String> sizes;
+
+    @ConfigProperty(name = "images.renditions.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "images.renditions.queue-size", defaultValue = "100")
+    int queueSize;
+
+    private List<RenditionSize> standardSizes;
+
+    // Maior largura e maior altura entre os tamanhos padrão, usadas para decodificar o original uma vez só.
+    private RenditionSize largest;
+
+    ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        standardSizes = sizes.stream().map(RenditionSize::parse).collect(Collectors.toList());
+        largest = new RenditionSize(
+                standardSizes.stream().mapToInt(RenditionSize::getWidth).max().orElse(1),
+                standardSizes.stream().mapToInt(RenditionSize::getHeight).max().orElse(1));
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                (task, pool) -> LOG.warn("Fila de geração de miniaturas cheia, geração descartada."));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean isStandardSize(int w, int h) {
+        return standardSizes.contains(new RenditionSize(w, h));
+    }
+
+    void onImageSaved(@Observes(during = TransactionPhase.AFTER_SUCCESS) ImageSavedEvent event) {
+        executor.execute(() -> generate(event.getImageName()));
+    }
+
+    void generate(String imageName) {
+        try {
+            ImageContent original = QuarkusTransaction.requiringNew().call(() -> {
+                Optional<ImageInfoResponse> info = imageRepository.findImageInfoByName(imageName);
+                return info.isPresent()
+                        ? imageContentLoader.open(info.get().getId(), info.get().getHash())
+                        : null;
+            });
+
+            if (original == null)
+                return;
+
+            BufferedImage img;
+            try (InputStream in = original.openStream()) {
+                img = ImageDecoder.decode(in, largest.getWidth(), largest.getHeight());
+            }
+            if (img == null)
+                return;
+
+            List<ImageRendition> renditions = new ArrayList<>();
+            for (RenditionSize size : standardSizes) {
+                renditions.add(ImageRendition.builder()
+                        .imageName(imageName)
+                        .width(size.getWidth())
+                        .height(size.getHeight())
+                        .data(imageScaler.scale(img, size.getWidth(), size.getHeight()))
+                        .build());
+            }
+
+            // A cor e o placeholder saem da mesma decodificação. Se a geração for descartada,
+            // a imagem fica sem eles, como uma imagem enviada antes da análise existir.
+            String dominantColor = imageAnalyzer.dominantColor(img);
+            String placeholder = imageAnalyzer.placeholder(img);
+
+            QuarkusTransaction.requiringNew().run(() -> {
+                // A imagem pode ter sido removida enquanto as miniaturas eram geradas.
+                if (imageRepository.updateAppearance(imageName, dominantColor, placeholder) > 0)
+                    imageRenditionRepository.persist(renditions);
+            });
+        } catch (Exception e) {
+            LOG.warnf(e, "Falha ao gerar as miniaturas da imagem %s", imageName);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.vicaw.service;
+
+import lombok.Value;
+
+@Value
+public class ImageSavedEvent {
+    String imageName;
+}
@@ -0,0 +1,165 @@
+package dev.vicaw.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.exception.ServiceUnavailableException;
+import dev.vicaw.model.response.ImageScalingStatsResponse;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Isola o redimensionamento de imagens (uso intenso de CPU) num pool próprio, com
+// fila limitada. Quando o pool está saturado a requisição falha na hora com 503 em
+// vez de ocupar as threads que atendem o resto da API.
+@ApplicationScoped
+public class ImageScalingExecutor {
+
+    // 0 usa o número de núcleos disponíveis.
+    @ConfigProperty(name = "images.scaling.workers", defaultValue = "0")
+    int workers;
+
+    @ConfigProperty(name = "images.scaling.queue-size", defaultValue = "16")
+    int queueSize;
+
+    @ConfigProperty(name = "images.scaling.timeout-ms", defaultValue = "10000")
+    long timeoutMillis;
+
+    @ConfigProperty(name = "images.scaling.retry-after-seconds", defaultValue = "2")
+    long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> {
+                    Thread thread = new Thread(task, "image-scaling-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    // Executa a tarefa no pool sem bloquear quem chamou: o Uni completa na thread do pool.
+    // Recusa, tempo esgotado e falhas seguem as mesmas regras do call.
+    public <T> Uni<T> submit(Callable<T> task) {
+        return Uni.createFrom().deferred(() -> {
+            AtomicReference<Future<?>> running = new AtomicReference<>();
+
+            return Uni.createFrom().<T>emitter(emitter -> {
+                long queuedAt = System.nanoTime();
+                try {
+                    running.set(executor.submit(() -> {
+                        recordQueueTime(System.nanoTime() - queuedAt);
+                        try {
+                            emitter.complete(task.call());
+                        } catch (RuntimeException e) {
+                            emitter.fail(e);
+                        } catch (Exception e) {
+                            emitter.fail(new ApiException(500, "Falha ao processar a imagem."));
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    emitter.fail(new ServiceUnavailableException(retryAfterSeconds));
+                }
+            }).onCancellation().invoke(() -> {
+                Future<?> future = running.get();
+                if (future != null)
+                    future.cancel(true);
+            });
+        }).ifNoItem().after(Duration.ofMillis(timeoutMillis)).failWith(() -> {
+            timedOut.increment();
+            return new ServiceUnavailableException(retryAfterSeconds);
+        });
+    }
+
+    // Executa a tarefa no pool e espera o resultado.
+    public <T> T call(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                recordQueueTime(System.nanoTime() - queuedAt);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new ApiException(500, "Falha ao processar a imagem.");
+        }
+    }
+
+    private void recordQueueTime(long nanos) {
+        started.increment();
+        totalQueueNanos.add(nanos);
+        maxQueueNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public ImageScalingStatsResponse stats() {
+        long count = started.sum();
+        double averageNanos = count == 0 ? 0 : (double) totalQueueNanos.sum() / count;
+
+        return ImageScalingStatsResponse.builder()
+                .workers(executor.getMaximumPoolSize())
+                .queueCapacity(queueSize)
+                .activeCount(executor.getActiveCount())
+                .queuedCount(executor.getQueue().size())
+                .completedCount(executor.getCompletedTaskCount())
+                .rejectedCount(rejected.sum())
+                .timedOutCount(timedOut.sum())
+                .averageQueueMillis(averageNanos / 1_000_000)
+                .maxQueueMillis(TimeUnit.NANOSECONDS.toMillis(maxQueueNanos.get()))
+                .build();
+    }
+}
@@ -1,68 +1,256 @@
 package dev.vicaw.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
 import dev.vicaw.exception.ApiException;
+import dev.vicaw.image.ImageDecoder;
+import dev.vicaw.image.ImageFormat;
+import dev.vicaw.image.ImageHeader;
+import dev.vicaw.image.ImageScaler;
 import dev.vicaw.model.Image;
+import dev.vicaw.model.ImageRendition;
+import dev.vicaw.model.RenditionSpec;
 import dev.vicaw.model.request.MultipartBody;
+import dev.vicaw.model.response.ImageCacheStatsResponse;
 import dev.vicaw.model.response.ImageInfoResponse;
+import dev.vicaw.model.response.ImageMigrationResponse;
+import dev.vicaw.model.response.ImagePreviewResponse;
+import dev.vicaw.model.response.ImageScalingStatsResponse;
+import dev.vicaw.repository.ImageRenditionRepository;
 import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.storage.ImageContent;
+import dev.vicaw.storage.ImageStore;
+import dev.vicaw.storage.StoredImage;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 @RequestScoped
 public class ImageService {
+    private static final Logger LOG = Logger.getLogger(ImageService.class);
     private static final List<String> EXTENSIONS_PERMITIDAS = Arrays.asList("jpg", "jpeg", "png");
+    private static final String IMAGES_PATH = "/images/";
+    // A qualidade pedida é arredondada para múltiplos de 10 para não multiplicar as versões no cache.
+    private static final int QUALITY_STEP = 10;
 
     @Inject
     ImageRepository imageRepository;
 
+    @Inject
+    ImageRenditionRepository imageRenditionRepository;
+
+    @Inject
+    ImageRenditionCache renditionCache;
+
+    @Inject
+    ImageRenditionGenerator renditionGenerator;
+
+    @Inject
+    ImageStoreMigrator imageStoreMigrator;
+
+    @Inject
+    ImageGarbageCollector imageGarbageCollector;
+
+    @Inject
+    ImageStore imageStore;
+
+    @Inject
+    ImageContentGuard imageContentGuard;
+
+    @Inject
+    ImageContentLoader imageContentLoader;
+
+    @Inject
+    ImageScaler imageScaler;
+
+    @Inject
+    ImageScalingExecutor scalingExecutor;
+
+    @Inject
+    FallbackImage fallbackImage;
+
+    @Inject
+    UploadLimiter uploadLimiter;
+
+    @Inject
+    Event<ImageSavedEvent> imageSavedEvent;
+
+    @Inject
+    Event<ImageContentSavedEvent> imageContentSavedEvent;
+
     @ConfigProperty(name = "baseurl", defaultValue = "")
     String baseurl;
 
+    @ConfigProperty(name = "images.output.png-passthrough-max-bytes", defaultValue = "32768")
+    long pngPassthroughMaxBytes;
+
+    @ConfigProperty(name = "images.batch.max-names", defaultValue = "48")
+    int batchMaxNames;
+
+    // Miniaturas de um mesmo pedido geradas ao mesmo tempo; limitado também pela fila do pool.
+    @ConfigProperty(name = "images.batch.concurrency", defaultValue = "4")
+    int batchConcurrency;
+
+    @ConfigProperty(name = "images.upload.max-pixels", defaultValue = "40000000")
+    long maxPixels;
+
     @Transactional
     public String save(MultipartBody body) {
         try {
             String fileName = body.imageName;
+            String extensao = null;
 
             int indiceUltimoPonto = fileName.lastIndexOf('.');
             if (indiceUltimoPonto > 0 && indiceUltimoPonto < fileName.length() - 1) {
-                String extensao = fileName.substring(indiceUltimoPonto + 1).toLowerCase();
+                extensao = fileName.substring(indiceUltimoPonto + 1).toLowerCase();
                 if (!EXTENSIONS_PERMITIDAS.contains(extensao.toLowerCase())) {
                     throw new ApiException(400, "Formato da imagem enviada não suportado.");
                 }
             }
 
+            StoredImage stored;
+            try (InputStream in = uploadLimiter.limit(body.image)) {
+                stored = imageStore.put(in);
+            }
+
+            // Até o commit nenhuma imagem no banco aponta para o conteúdo: a marcação impede que
+            // ele seja removido nesse intervalo e, se a transação for desfeita (conteúdo
+            // rejeitado abaixo, falha de quem chamou), o remove.
+            if (!imageContentGuard.pin(stored.getHash()))
+                throw new ApiException(503, "A imagem foi removida durante o envio. Tente novamente.");
+            imageContentSavedEvent.fire(new ImageContentSavedEvent(stored.getHash()));
+
+            // A conferência vem antes da deduplicação: a extensão informada vale para este envio,
+            // não para o da imagem existente.
+            ImageHeader header = inspect(stored.getHash(), extensao != null, fileName);
+
+            // Conteúdo já enviado antes: reaproveita a imagem existente.
+            // Se o coletor removeu a imagem nesse meio tempo, o update não encontra a linha
+            // e uma nova imagem é criada.
+            Optional<Image> existing = imageRepository.findByHash(stored.getHash());
+            if (existing.isPresent() && imageRepository.addReferences(existing.get().getName(), 1) > 0)
+                return baseurl + IMAGES_PATH + existing.get().getName();
+
             Image image = new Image();
 
-            image.setData(body.image.readAllBytes());
+            image.setHash(stored.getHash());
+            image.setSize(stored.getSize());
+            image.setContentType(header.getFormat().getMediaType());
+            // A cor e o placeholder são calculados depois do commit, junto com as miniaturas.
+            image.setWidth(header.getWidth());
+            image.setHeight(header.getHeight());
             image.setName(UUID.randomUUID().toString() + "-" + body.imageName);
+            image.setReferenceCount(1);
             imageRepository.persist(image);
+            imageSavedEvent.fire(new ImageSavedEvent(image.getName()));
 
-            return baseurl + "/images/" + image.getName();
+            return baseurl + IMAGES_PATH + image.getName();
 
         } catch (IOException e) {
             throw new ApiException(500, "I/O Exception Error");
-        } catch (OutOfMemoryError e) {
-            throw new ApiException(500, "Out of Memory Error");
         }
 
     }
 
+    // Confere o conteúdo lendo só o cabeçalho, antes de qualquer decodificação: um PNG de
+    // poucos KB pode declarar 50000x50000 pixels e estourar a memória ao ser decodificado.
+    private ImageHeader inspect(String hash, boolean temExtensao, String fileName) throws IOException {
+        Optional<ImageHeader> header;
+        try (InputStream in = imageStore.open(hash).openStream()) {
+            header = ImageDecoder.readHeader(in);
+        }
+
+        String erro = null;
+        if (header.isEmpty())
+            erro = "O arquivo enviado não é uma imagem válida.";
+        else if (temExtensao && header.get().getFormat() != ImageFormat.fromFileName(fileName))
+            erro = "O conteúdo do arquivo não corresponde à extensão informada.";
+        else if (header.get().getPixels() > maxPixels)
+            erro = "Dimensões da imagem acima do máximo permitido.";
+
+        if (erro == null)
+            return header.get();
+
+        // O conteúdo é removido quando a transação é desfeita, se nenhuma imagem já enviada o usa.
+        throw new ApiException(400, erro);
+    }
+
+    // Chamado quando uma foto deixa de ser usada (foto trocada ou dono removido).
+    // A imagem não é apagada aqui; as que ficam sem referências são removidas depois.
+    @Transactional
+    public void release(String url) {
+        String name = Image.nameFromUrl(url);
+        if (name != null)
+            imageRepository.addReferences(name, -1);
+    }
+
+    // Dados para exibir as fotos antes de carregá-las, indexados pela URL. Uma consulta só.
+    public Map<String, ImagePreviewResponse> getPreviews(Collection<String> urls) {
+        Map<String, String> urlsByName = new HashMap<>();
+        for (String url : urls) {
+            String name = Image.nameFromUrl(url);
+            if (name != null)
+                urlsByName.put(name, url);
+        }
+
+        Map<String, ImagePreviewResponse> previews = new HashMap<>();
+        if (urlsByName.isEmpty())
+            return previews;
+
+        for (ImagePreviewResponse preview : imageRepository.listPreviewsByName(urlsByName.keySet()))
+            previews.put(urlsByName.get(preview.getName()), preview);
+
+        return previews;
+    }
+
+    public Optional<ImagePreviewResponse> getPreview(String url) {
+        if (url == null)
+            return Optional.empty();
+
+        return Optional.ofNullable(getPreviews(List.of(url)).get(url));
+    }
+
     @Transactional
     public void deleteImageByName(String name) {
-        Optional<Image> imageResult = imageRepository.findByName(name);
+        Optional<ImageInfoResponse> imageResult = imageRepository.findImageInfoByName(name);
         if (imageResult.isEmpty())
             throw new ApiException(404, "Não existe nenhuma imagem com o Nome informado.");
 
-        imageRepository.delete(imageResult.get());
+        ImageInfoResponse image = imageResult.get();
+
+        // Uploads do mesmo conteúdo reaproveitam a imagem: remover tiraria a foto de todos.
+        if (image.getReferenceCount() > 1)
+            throw new ApiException(409, "A imagem está sendo usada por mais de uma foto.");
+
+        imageRepository.delete("id", image.getId());
+        imageRenditionRepository.deleteByName(name);
+        renditionCache.invalidate(name);
+
+        // O mesmo conteúdo pode estar sendo usado por outra imagem.
+        if (image.getHash() != null) {
+            try {
+                imageContentGuard.deleteIfUnused(image.getHash());
+            } catch (IOException e) {
+                throw new ApiException(500, "I/O Exception Error");
+            }
+        }
     }
 
     public ImageInfoResponse getImageInfoByName(String imageName) {
@@ -73,19 +261,187 @@ public class ImageService {
         return image.get();
     }
 
-    public Image getImageByName(String fileName) {
-        Optional<Image> imageResult = imageRepository.findByName(fileName);
+    public Optional<ImageInfoResponse> findImageInfoByName(String imageName) {
+        return imageRepository.findImageInfoByName(imageName);
+    }
 
-        if (imageResult.isEmpty())
-            return Image.defaultImage();
+    public ImageContent getDefaultImageContent() {
+        return fallbackImage.content();
+    }
+
+    public ImageContent getImageContent(String fileName) {
+        Optional<ImageInfoResponse> info = imageRepository.findImageInfoByName(fileName);
+
+        if (info.isEmpty())
+            return getDefaultImageContent();
+
+        return getImageContent(info.get());
+    }
+
+    public ImageContent getImageContent(ImageInfoResponse info) {
+        try {
+            return imageContentLoader.open(info.getId(), info.getHash());
+        } catch (IOException e) {
+            throw new ApiException(500, "I/O Exception Error");
+        }
+    }
+
+    // quality nulo usa a qualidade padrão (images.output.jpeg-quality).
+    public RenditionSpec renditionSpec(int w, int h, ImageFormat format, Integer quality) {
+        if (quality == null)
+            return RenditionSpec.of(w, h, format, imageScaler.getDefaultQuality());
+
+        if (quality < 1 || quality > 100)
+            throw new ApiException(400, "A qualidade da imagem deve estar entre 1 e 100.");
+
+        int rounded = Math.max(QUALITY_STEP, Math.round(quality / (float) QUALITY_STEP) * QUALITY_STEP);
+        return RenditionSpec.of(w, h, format, rounded);
+    }
+
+    // Gráficos PNG pequenos que já cabem no tamanho pedido são servidos como foram enviados:
+    // convertê-los para JPEG borraria os contornos e raramente diminuiria o arquivo.
+    public boolean isPassthrough(ImageInfoResponse info, int w, int h) {
+        return ImageFormat.PNG.getMediaType().equals(info.getContentType())
+                && info.getWidth() != null && info.getWidth() <= w
+                && info.getHeight() != null && info.getHeight() <= h
+                && info.getSize() != null && info.getSize() <= pngPassthroughMaxBytes;
+    }
+
+    // Imagem padrão no tamanho pedido, para nomes que não existem.
+    public byte[] getDefaultImageScaled(int w, int h) {
+        return fallbackImage.scaled(w, h);
+    }
+
+    // Acertos no cache completam na hora, na thread de quem chamou. Só as faltas ocupam uma
+    // thread do pool de redimensionamento, que também faz a leitura do original.
+    public Uni<byte[]> getImageByNameAndScale(ImageInfoResponse info, RenditionSpec spec) {
+        Optional<byte[]> cached = renditionCache.get(info.getName(), spec);
+        if (cached.isPresent())
+            return Uni.createFrom().item(cached.get());
+
+        return renditionCache.coalesceAsync(info.getName(), spec,
+                () -> scalingExecutor.submit(() -> loadRendition(info, spec)));
+    }
+
+    // Miniaturas de várias imagens no mesmo tamanho, na ordem dos nomes pedidos. As que não
+    // estão no cache são resolvidas com uma consulta só, em vez de uma por nome.
+    public Uni<Map<String, byte[]>> getImagesByNameAndScale(Collection<String> names, RenditionSpec spec) {
+        if (names.isEmpty() || names.size() > batchMaxNames)
+            throw new ApiException(400, "Informe de 1 a " + batchMaxNames + " imagens.");
+
+        // Gerada no máximo uma vez por pedido, e só se alguma miniatura precisar dela.
+        Uni<byte[]> fallback = fallbackImage.scaledAsync(spec.getWidth(), spec.getHeight()).memoize().indefinitely();
+
+        Map<String, Uni<byte[]>> renditions = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            if (renditions.containsKey(name))
+                continue;
+
+            Optional<byte[]> cached = renditionCache.get(name, spec);
+            renditions.put(name, cached.isPresent() ? Uni.createFrom().item(cached.get()) : null);
+            if (cached.isEmpty())
+                misses.add(name);
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, byte[]> stored = new HashMap<>();
+            if (isStoredSpec(spec)) {
+                List<ImageRendition> saved = imageRenditionRepository.listByNamesAndSize(misses, spec.getWidth(),
+                        spec.getHeight());
+                for (ImageRendition rendition : saved)
+                    stored.put(rendition.getImageName(), rendition.getData());
+            }
+
+            Map<String, ImageInfoResponse> infos = new HashMap<>();
+            for (ImageInfoResponse info : imageRepository.listImageInfoByName(misses))
+                infos.put(info.getName(), info);
+
+            for (String name : misses) {
+                byte[] data = stored.get(name);
+                ImageInfoResponse info = infos.get(name);
+
+                if (data != null) {
+                    renditionCache.put(name, spec, data);
+                    renditions.put(name, Uni.createFrom().item(data));
+                } else if (info == null) {
+                    renditions.put(name, fallback);
+                } else {
+                    // Só começa quando o merge abaixo pede, para respeitar o limite de concorrência.
+                    renditions.put(name, Uni.createFrom().deferred(() -> renditionCache.coalesceAsync(name, spec,
+                            () -> scalingExecutor.submit(() -> scaleOriginal(info, spec)))));
+                }
+            }
+        }
+
+        // Uma miniatura que falha (pool cheio, imagem corrompida) vira a imagem padrão em vez
+        // de derrubar as outras. A recuperação não bloqueia: ela pode rodar numa thread do pool.
+        int concurrency = Math.max(1, Math.min(batchConcurrency, scalingExecutor.getQueueSize()));
+        return Multi.createFrom().iterable(renditions.entrySet())
+                .onItem().transformToUni(rendition -> rendition.getValue()
+                        .onFailure().recoverWithUni(failure -> {
+                            LOG.debugf(failure, "Falha ao gerar a miniatura de %s", rendition.getKey());
+                            return fallback;
+                        })
+                        .map(data -> Map.entry(rendition.getKey(), data)))
+                .merge(concurrency)
+                .collect().asMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(results -> {
+                    Map<String, byte[]> byName = new LinkedHashMap<>();
+                    for (String name : renditions.keySet())
+                        byName.put(name, results.get(name));
+                    return byName;
+                });
+    }
+
+    // Roda no pool de redimensionamento, fora do contexto da requisição, por isso as
+    // consultas abrem a própria transação.
+    private byte[] loadRendition(ImageInfoResponse info, RenditionSpec spec) throws IOException {
+        if (isStoredSpec(spec)) {
+            Optional<byte[]> stored = QuarkusTransaction.requiringNew().call(() -> imageRenditionRepository
+                    .findByNameAndSize(info.getName(), spec.getWidth(), spec.getHeight())
+                    .map(ImageRendition::getData));
+            if (stored.isPresent()) {
+                renditionCache.put(info.getName(), spec, stored.get());
+                return stored.get();
+            }
+        }
+
+        return scaleOriginal(info, spec);
+    }
+
+    private byte[] scaleOriginal(ImageInfoResponse info, RenditionSpec spec) throws IOException {
+        byte[] data = QuarkusTransaction.requiringNew()
+                .call(() -> imageContentLoader.open(info.getId(), info.getHash()).readAllBytes());
+
+        byte[] rendition = imageScaler.scale(data, spec.getWidth(), spec.getHeight(), spec.getFormat(),
+                spec.getQuality());
+        renditionCache.put(info.getName(), spec, rendition);
+        return rendition;
+    }
+
+    // As miniaturas geradas no upload são JPEG na qualidade padrão.
+    private boolean isStoredSpec(RenditionSpec spec) {
+        return renditionGenerator.isStandardSize(spec.getWidth(), spec.getHeight())
+                && spec.getFormat() == ImageFormat.JPEG
+                && spec.getQuality() == imageScaler.getDefaultQuality();
+    }
+
+    public ImageCacheStatsResponse getRenditionCacheStats() {
+        return renditionCache.stats();
+    }
+
+    public ImageScalingStatsResponse getScalingStats() {
+        return scalingExecutor.stats();
+    }
 
-        return imageResult.get();
+    public ImageMigrationResponse migrateToImageStore() {
+        return imageStoreMigrator.migrate();
     }
 
-    public Image getImageByNameAndScale(String name, int w, int h) {
-        Image image = getImageByName(name);
-        image.scale(w, h);
-        return image;
+    public void collectGarbage() {
+        if (!imageGarbageCollector.startSweep())
+            throw new ApiException(409, "Já existe uma coleta de imagens em andamento.");
     }
 
 }
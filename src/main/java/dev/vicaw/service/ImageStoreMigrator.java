@@ -0,0 +1,82 @@
+package dev.vicaw.service;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import dev.vicaw.model.ImagePayload;
+import dev.vicaw.model.response.ImageMigrationResponse;
+import dev.vicaw.repository.ImagePayloadRepository;
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.storage.ImageStore;
+import dev.vicaw.storage.StoredImage;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// Move o conteúdo das imagens antigas da coluna images.data para o ImageStore,
+// uma imagem por transação, deixando na tabela apenas os metadados.
+@ApplicationScoped
+public class ImageStoreMigrator {
+    private static final Logger LOG = Logger.getLogger(ImageStoreMigrator.class);
+
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    ImagePayloadRepository imagePayloadRepository;
+
+    @Inject
+    ImageStore imageStore;
+
+    @ConfigProperty(name = "images.store.migration.batch-size", defaultValue = "20")
+    int batchSize;
+
+    public ImageMigrationResponse migrate() {
+        long migrated = 0;
+        long failed = 0;
+        long bytes = 0;
+        UUID lastId = FIRST_ID;
+
+        while (true) {
+            UUID afterId = lastId;
+            List<UUID> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> imagePayloadRepository.listLegacyIds(afterId, batchSize));
+
+            if (ids.isEmpty())
+                break;
+
+            for (UUID id : ids) {
+                try {
+                    bytes += QuarkusTransaction.requiringNew().call(() -> migrateImage(id));
+                    migrated++;
+                } catch (Exception e) {
+                    LOG.warnf(e, "Falha ao migrar a imagem %s", id);
+                    failed++;
+                }
+                lastId = id;
+            }
+        }
+
+        return ImageMigrationResponse.builder()
+                .migrated(migrated)
+                .failed(failed)
+                .bytes(bytes)
+                .build();
+    }
+
+    private long migrateImage(UUID id) throws Exception {
+        ImagePayload payload = imagePayloadRepository.findById(id);
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(payload.getData()));
+
+        imageRepository.update("hash = ?1, size = ?2 where id = ?3", stored.getHash(), stored.getSize(), id);
+        payload.setData(null);
+
+        return stored.getSize();
+    }
+}
@@ -9,6 +9,8 @@ import org.eclipse.microprofile.jwt.JsonWebToken;
 import dev.vicaw.exception.ApiException;
 import dev.vicaw.exception.RecipeNotFoundException;
 import dev.vicaw.model.Rating;
+import dev.vicaw.model.RatingAggregate;
+import dev.vicaw.model.RatingCursor;
 import dev.vicaw.model.Recipe;
 import dev.vicaw.model.User;
 import dev.vicaw.model.request.RatingCreateRequest;
@@ -19,14 +21,13 @@ import dev.vicaw.model.response.UserResponse;
 import dev.vicaw.repository.RatingRepository;
 import dev.vicaw.repository.RecipeRepository;
 import dev.vicaw.repository.UserRepository;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 @RequestScoped
 public class RatingService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Inject
     JsonWebToken token;
@@ -40,17 +41,26 @@ public class RatingService {
     @Inject
     RecipeRepository recipeRepository;
 
-    public RecipeRatingsResponse listRecipeRatings(Long recipeId, int pagesize, int pagenumber, String orderBy) {
-        Optional<Recipe> recipeOptional = recipeRepository.findByIdOptional(recipeId);
+    @Inject
+    RecipeRanking recipeRanking;
 
-        if (recipeOptional.isEmpty())
-            throw new RecipeNotFoundException();
+    public RecipeRatingsResponse listRecipeRatings(Long recipeId, int pagesize, String cursor, String orderBy) {
+        Recipe recipe = findRecipe(recipeId);
+        String order = RatingRepository.resolveOrder(orderBy);
+
+        if (pagesize < 1 || pagesize > MAX_PAGE_SIZE)
+            throw new ApiException(400, "O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
 
-        PanacheQuery<Rating> page = ratingRepository.listAllRecipeRatings(recipeId, orderBy)
-                .page(Page.of(pagenumber, pagesize));
+        RatingCursor after = cursor == null ? null : decodeCursor(cursor, order);
 
-        List<Rating> ratings = page.list();
-        boolean hasMore = page.hasNextPage();
+        // Busca um item a mais só para saber se existe próxima página.
+        List<Rating> ratings = ratingRepository.listRecipeRatings(recipeId, order, after, pagesize + 1);
+
+        String nextCursor = null;
+        if (ratings.size() > pagesize) {
+            ratings = ratings.subList(0, pagesize);
+            nextCursor = RatingRepository.cursorAfter(ratings.get(pagesize - 1), order).encode();
+        }
 
         List<RatingResponse> ratingsResponse = ratings.stream()
                 .map(rating -> RatingResponse.builder()
@@ -66,11 +76,25 @@ public class RatingService {
 
         return RecipeRatingsResponse.builder()
                 .ratings(ratingsResponse)
-                .ratingInfo(getRatingInfo(recipeId))
-                .hasMore(hasMore)
+                .ratingInfo(ratingInfo(recipe))
+                .nextCursor(nextCursor)
                 .build();
     }
 
+    private static RatingCursor decodeCursor(String cursor, String order) {
+        RatingCursor after;
+        try {
+            after = RatingCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Cursor de paginação inválido.");
+        }
+
+        if (!RatingRepository.acceptsCursor(after, order))
+            throw new ApiException(400, "Cursor de paginação inválido.");
+
+        return after;
+    }
+
     @Transactional
     public RatingResponse postRating(Long recipeId, RatingCreateRequest ratingCreateRequest) {
         Optional<Recipe> recipeOptional = recipeRepository.findByIdOptional(recipeId);
@@ -97,6 +121,9 @@ public class RatingService {
                 .build();
 
         ratingRepository.persist(rating);
+        // Incremento feito no banco, para que avaliações simultâneas não se sobrescrevam.
+        recipeRepository.updateRatingTotals(recipeId, rating.getScore(), 1, recipeRanking.getPriorMean(),
+                recipeRanking.getPriorWeight());
 
         return RatingResponse.builder()
                 .id(rating.getId())
@@ -110,34 +137,24 @@ public class RatingService {
     }
 
     public RatingInfoResponse getRatingInfo(Long recipeId) {
-        Optional<Recipe> recipeOptional = recipeRepository.findByIdOptional(recipeId);
-
-        if (recipeOptional.isEmpty())
-            throw new RecipeNotFoundException();
-
-        Long count = ratingRepository.ratingCount(recipeId);
-        Double score = ratingRepository.calculateAverageScore(recipeId);
-
-        return RatingInfoResponse.builder().count(count)
-                .score(score).build();
+        return ratingInfo(findRecipe(recipeId));
     }
 
-    public Double getAverageRating(Long recipeId) {
-        Optional<Recipe> recipeOptional = recipeRepository.findByIdOptional(recipeId);
-
-        if (recipeOptional.isEmpty())
-            throw new RecipeNotFoundException();
+    private RatingInfoResponse ratingInfo(Recipe recipe) {
+        RatingAggregate aggregate = new RatingAggregate(recipe.scoreHistogram());
 
-        return ratingRepository.calculateAverageScore(recipeId);
+        return RatingInfoResponse.builder().count(aggregate.getCount())
+                .score(aggregate.average())
+                .histogram(aggregate.getHistogram()).build();
     }
 
-    public Long getRatingCount(Long recipeId) {
+    private Recipe findRecipe(Long recipeId) {
         Optional<Recipe> recipeOptional = recipeRepository.findByIdOptional(recipeId);
 
         if (recipeOptional.isEmpty())
             throw new RecipeNotFoundException();
 
-        return ratingRepository.ratingCount(recipeId);
+        return recipeOptional.get();
     }
 
     public RatingResponse getUserRating(Long recipeId, Long userId) {
@@ -0,0 +1,89 @@
+package dev.vicaw.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import dev.vicaw.model.RatingAggregate;
+import dev.vicaw.repository.RatingRepository;
+import dev.vicaw.repository.RecipeRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+// Na inicialização, calcula ratingCount, ratingSum e o histograma de notas das receitas que
+// já tinham avaliações antes dessas colunas existirem, um lote de receitas por transação e uma consulta de
+// agregação por lote. Receitas já preenchidas não são tocadas. Depois recalcula, também em
+// lotes, o rankingScore das receitas em que ele não corresponde à configuração atual.
+@ApplicationScoped
+public class RatingTotalsBackfill {
+    private static final Logger LOG = Logger.getLogger(RatingTotalsBackfill.class);
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    RatingRepository ratingRepository;
+
+    @Inject
+    RecipeRanking recipeRanking;
+
+    @ConfigProperty(name = "ratings.totals.backfill.batch-size", defaultValue = "100")
+    int batchSize;
+
+    void onStart(@Observes StartupEvent event) {
+        long updated = 0;
+        Long lastId = 0L;
+
+        while (true) {
+            Long afterId = lastId;
+            List<Long> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> recipeRepository.listIdsMissingRatingTotals(afterId, batchSize));
+
+            if (ids.isEmpty())
+                break;
+
+            QuarkusTransaction.requiringNew().run(() -> {
+                Map<Long, RatingAggregate> aggregates = ratingRepository.aggregateByRecipeIds(ids);
+                aggregates.forEach(recipeRepository::setRatingTotals);
+            });
+
+            updated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        if (updated > 0)
+            LOG.infof("Totais de avaliação preenchidos em %d receitas.", updated);
+
+        refreshRankingScores();
+    }
+
+    private void refreshRankingScores() {
+        double priorMean = recipeRanking.getPriorMean();
+        double priorWeight = recipeRanking.getPriorWeight();
+        long refreshed = 0;
+        Long lastId = 0L;
+
+        while (true) {
+            Long afterId = lastId;
+            List<Long> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> recipeRepository.listIdsWithStaleRanking(priorMean, priorWeight, afterId, batchSize));
+
+            if (ids.isEmpty())
+                break;
+
+            QuarkusTransaction.requiringNew()
+                    .run(() -> recipeRepository.refreshRankingScores(ids, priorMean, priorWeight));
+
+            refreshed += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        if (refreshed > 0)
+            LOG.infof("Pontuação de ranking recalculada em %d receitas.", refreshed);
+    }
+}
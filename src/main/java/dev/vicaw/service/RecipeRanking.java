@@ -0,0 +1,27 @@
+package dev.vicaw.service;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Parâmetros da pontuação usada para ordenar as receitas por avaliação, calculada no banco
+// (RecipeRepository.RANKING_SCORE). Cada receita começa com priorWeight avaliações fictícias
+// de nota priorMean, então uma única nota 5 não passa à frente de uma receita com dezenas de
+// avaliações boas.
+@ApplicationScoped
+public class RecipeRanking {
+
+    @ConfigProperty(name = "ratings.ranking.prior-mean", defaultValue = "3.0")
+    double priorMean;
+
+    @ConfigProperty(name = "ratings.ranking.prior-weight", defaultValue = "5")
+    double priorWeight;
+
+    public double getPriorMean() {
+        return priorMean;
+    }
+
+    public double getPriorWeight() {
+        return priorWeight;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.vicaw.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -13,6 +14,7 @@ import dev.vicaw.model.User;
 import dev.vicaw.model.request.MultipartBody;
 import dev.vicaw.model.request.RecipeCreateRequest;
 import dev.vicaw.model.request.RecipeUpdateRequest;
+import dev.vicaw.model.response.ImagePreviewResponse;
 import dev.vicaw.model.response.RecipeListResponse;
 import dev.vicaw.model.response.RecipeResponse;
 import dev.vicaw.model.response.UserResponse;
@@ -36,9 +38,6 @@ public class RecipeService {
     @Inject
     UserRepository userRepository;
 
-    @Inject
-    RatingService ratingService;
-
     @Inject
     JsonWebToken token;
 
@@ -49,13 +48,18 @@ public class RecipeService {
 
         boolean hasMore = (pageSize != null && pageNumber != null) && recipesQuery.hasNextPage();
 
-        List<RecipeResponse> recipes = recipesQuery.list().stream()
+        List<Recipe> recipeList = recipesQuery.list();
+        Map<String, ImagePreviewResponse> previews = imageService
+                .getPreviews(recipeList.stream().map(Recipe::getUrlFoto).collect(Collectors.toList()));
+
+        List<RecipeResponse> recipes = recipeList.stream()
                 .map(recipe -> RecipeResponse.builder()
                         .id(recipe.getId())
                         .titulo(recipe.getTitulo())
                         .urlFoto(recipe.getUrlFoto())
-                        .rating(ratingService.getAverageRating(recipe.getId()))
-                        .ratingCount(ratingService.getRatingCount(recipe.getId()))
+                        .fotoPreview(previews.get(recipe.getUrlFoto()))
+                        .rating(recipe.averageRating())
+                        .ratingCount(recipe.getRatingCount())
                         .ingredientes(recipe.getIngredientes())
                         .about(recipe.getAbout())
                         .modoPreparo(recipe.getModoPreparo())
@@ -93,11 +97,12 @@ public class RecipeService {
                 .ingredientes(recipe.getIngredientes())
                 .about(recipe.getAbout())
                 .urlFoto(recipe.getUrlFoto())
+                .fotoPreview(imageService.getPreview(recipe.getUrlFoto()).orElse(null))
                 .modoPreparo(recipe.getModoPreparo())
                 .createdAt(recipe.getCreatedAt())
                 .updatedAt(recipe.getUpdatedAt())
-                .rating(ratingService.getAverageRating(recipe.getId()))
-                .ratingCount(ratingService.getRatingCount(recipe.getId()))
+                .rating(recipe.averageRating())
+                .ratingCount(recipe.getRatingCount())
                 .build();
     }
 
@@ -173,6 +178,7 @@ public class RecipeService {
 
         if (body.getImage() != null) {
             String photoUrl = imageService.save(body);
+            imageService.release(recipe.getUrlFoto());
             recipe.setUrlFoto(photoUrl);
         }
 
@@ -189,6 +195,7 @@ public class RecipeService {
                 .modoPreparo(recipe.getModoPreparo())
                 .user(userResponse)
                 .urlFoto(recipe.getUrlFoto())
+                .fotoPreview(imageService.getPreview(recipe.getUrlFoto()).orElse(null))
                 .about(recipe.getAbout())
                 .build();
     }
@@ -206,20 +213,26 @@ public class RecipeService {
             throw new ApiException(403, "Você não pode deletar receitas de outros usuários.");
 
         recipeRepository.delete(recipe);
+        imageService.release(recipe.getUrlFoto());
     }
 
     public RecipeListResponse searchRecipe(String query, Integer pagesize, Integer pagenumber, String orderBy) {
         PanacheQuery<Recipe> page = recipeRepository.search(query, orderBy, pagenumber, pagesize);
         Boolean hasMore = page.hasNextPage();
 
-        List<RecipeResponse> recipesResponse = page.list().stream()
+        List<Recipe> recipeList = page.list();
+        Map<String, ImagePreviewResponse> previews = imageService
+                .getPreviews(recipeList.stream().map(Recipe::getUrlFoto).collect(Collectors.toList()));
+
+        List<RecipeResponse> recipesResponse = recipeList.stream()
                 .map(recipe -> RecipeResponse.builder()
                         .id(recipe.getId())
                         .titulo(recipe.getTitulo())
                         .urlFoto(recipe.getUrlFoto())
+                        .fotoPreview(previews.get(recipe.getUrlFoto()))
                         .about(recipe.getAbout())
-                        .rating(ratingService.getAverageRating(recipe.getId()))
-                        .ratingCount(ratingService.getRatingCount(recipe.getId()))
+                        .rating(recipe.averageRating())
+                        .ratingCount(recipe.getRatingCount())
                         .createdAt(recipe.getCreatedAt())
                         .updatedAt(recipe.getUpdatedAt())
                         .user(UserResponse.builder().id(recipe.getUser().getId()).name(recipe.getUser().getName())
@@ -0,0 +1,93 @@
+package dev.vicaw.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.model.RenditionSize;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Restringe os tamanhos de miniatura a um conjunto fixo, para que pedidos como 301x299,
+// 302x299... não gerem (e ocupem o cache com) uma versão nova cada um.
+// Modos: snap (gera o tamanho permitido mais próximo), redirect (redireciona para a URL
+// do tamanho permitido mais próximo), reject (responde 400) e off (aceita qualquer
+// tamanho). Em todos os modos o tamanho gerado respeita o limite de pixels.
+@ApplicationScoped
+public class RenditionSizePolicy {
+
+    public enum Mode {
+        SNAP, REDIRECT, REJECT, OFF
+    }
+
+    @ConfigProperty(name = "images.renditions.buckets",
+            defaultValue = "64x64,128x128,320x240,640x480,1280x720,1920x1080")
+    List<String> buckets;
+
+    @ConfigProperty(name = "images.renditions.bucket-policy", defaultValue = "redirect")
+    String policy;
+
+    @ConfigProperty(name = "images.renditions.max-pixels", defaultValue = "2073600")
+    long maxPixels;
+
+    private List<RenditionSize> allowedSizes;
+
+    private Mode mode;
+
+    @PostConstruct
+    void init() {
+        mode = Mode.valueOf(policy.trim().toUpperCase());
+        allowedSizes = buckets.stream()
+                .map(RenditionSize::parse)
+                .collect(Collectors.toList());
+
+        for (RenditionSize size : allowedSizes) {
+            if ((long) size.getWidth() * size.getHeight() > maxPixels)
+                throw new IllegalStateException("Tamanho de miniatura acima de images.renditions.max-pixels: "
+                        + size.getWidth() + "x" + size.getHeight());
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Tamanho que deve ser gerado para o pedido w x h.
+    public RenditionSize resolve(int w, int h) {
+        if (w <= 0 || h <= 0)
+            throw new ApiException(400, "Dimensões da imagem inválidas.");
+
+        RenditionSize requested = new RenditionSize(w, h);
+        RenditionSize size = requested;
+
+        if (mode != Mode.OFF && !allowedSizes.contains(requested)) {
+            if (mode == Mode.REJECT)
+                throw new ApiException(400, "Tamanho de imagem não permitido. Tamanhos aceitos: "
+                        + String.join(", ", buckets));
+            size = nearest(requested);
+        }
+
+        if ((long) size.getWidth() * size.getHeight() > maxPixels)
+            throw new ApiException(400, "Dimensões da imagem acima do máximo permitido.");
+
+        return size;
+    }
+
+    // Distância em escala logarítmica: 2x maior pesa o mesmo que 2x menor.
+    private RenditionSize nearest(RenditionSize requested) {
+        RenditionSize best = null;
+        double bestDistance = Double.MAX_VALUE;
+
+        for (RenditionSize size : allowedSizes) {
+            double distance = Math.abs(Math.log((double) size.getWidth() / requested.getWidth()))
+                    + Math.abs(Math.log((double) size.getHeight() / requested.getHeight()));
+            if (distance < bestDistance) {
+                best = size;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,110 @@
+package dev.vicaw.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.exception.ImageTooLargeException;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Limita o tamanho de cada upload e o total de bytes sendo copiados ao mesmo tempo do
+// multipart para o ImageStore. Os bytes são reservados à medida que são lidos ou pulados.
+// Não limita a memória: o RESTEasy Classic já leu o corpo inteiro antes de o resource ser
+// chamado. Quem limita a memória por requisição é quarkus.http.limits.max-body-size.
+@ApplicationScoped
+public class UploadLimiter {
+
+    @ConfigProperty(name = "images.upload.max-bytes", defaultValue = "10485760")
+    long maxBytes;
+
+    @ConfigProperty(name = "images.upload.max-inflight-bytes", defaultValue = "67108864")
+    long maxInflightBytes;
+
+    private final AtomicLong inflightBytes = new AtomicLong();
+
+    public InputStream limit(InputStream in) {
+        return new LimitedInputStream(in);
+    }
+
+    private boolean tryReserve(long n) {
+        while (true) {
+            long current = inflightBytes.get();
+            if (current + n > maxInflightBytes)
+                return false;
+            if (inflightBytes.compareAndSet(current, current + n))
+                return true;
+        }
+    }
+
+    private class LimitedInputStream extends FilterInputStream {
+        private long reserved;
+        private long count;
+        private boolean closed;
+
+        LimitedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0)
+                reserve(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0)
+                reserve(skipped);
+            return skipped;
+        }
+
+        // O transferTo do stream de origem não passaria pelo read acima.
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int n;
+            while ((n = read(buffer, 0, buffer.length)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+            }
+            return total;
+        }
+
+        private void reserve(long n) {
+            count += n;
+            if (count > maxBytes)
+                throw new ImageTooLargeException();
+
+            if (!tryReserve(n))
+                throw new ApiException(503, "Muitos uploads em andamento. Tente novamente em instantes.");
+
+            reserved += n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inflightBytes.addAndGet(-reserved);
+                reserved = 0;
+            }
+            super.close();
+        }
+    }
+}
@@ -121,6 +121,7 @@ public class UserService {
 
         if (body != null && body.getImage() != null) {
             String photoUrl = imageService.save(body);
+            imageService.release(user.getPhotoUrl());
             user.setPhotoUrl(photoUrl);
         }
 
@@ -149,6 +150,7 @@ public class UserService {
         User user = userOptional.get();
 
         userRepository.delete(user);
+        imageService.release(user.getPhotoUrl());
     }
 
 }
\ No newline at end of file
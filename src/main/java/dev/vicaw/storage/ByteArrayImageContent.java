@@ -0,0 +1,39 @@
+package dev.vicaw.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class ByteArrayImageContent implements ImageContent {
+
+    private final byte[] data;
+
+    @Override
+    public long size() {
+        return data.length;
+    }
+
+    @Override
+    public void transferTo(OutputStream out) throws IOException {
+        out.write(data);
+    }
+
+    @Override
+    public void transferTo(OutputStream out, long offset, long length) throws IOException {
+        out.write(data, (int) offset, (int) length);
+    }
+
+    @Override
+    public byte[] readAllBytes() {
+        return data;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(data);
+    }
+}
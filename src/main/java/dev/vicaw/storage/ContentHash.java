@@ -0,0 +1,27 @@
+package dev.vicaw.storage;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String toHex(byte[] digest) {
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+
+    public static String of(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+}
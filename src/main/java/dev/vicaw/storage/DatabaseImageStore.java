@@ -0,0 +1,51 @@
+package dev.vicaw.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import dev.vicaw.model.ImageBlob;
+import dev.vicaw.repository.ImageBlobRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+// Mantém o conteúdo no banco, na tabela image_blobs, separado dos metadados.
+@ApplicationScoped
+@IfBuildProperty(name = "images.store.type", stringValue = "database")
+public class DatabaseImageStore implements ImageStore {
+
+    @Inject
+    ImageBlobRepository imageBlobRepository;
+
+    @Override
+    @Transactional
+    public StoredImage put(InputStream in) throws IOException {
+        byte[] data = in.readAllBytes();
+        String hash = ContentHash.of(data);
+
+        if (imageBlobRepository.findByIdOptional(hash).isEmpty())
+            imageBlobRepository.persist(new ImageBlob(hash, data));
+
+        return new StoredImage(hash, data.length);
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return imageBlobRepository.count("hash", hash) > 0;
+    }
+
+    @Override
+    @Transactional
+    public ImageContent open(String hash) throws IOException {
+        return imageBlobRepository.findByIdOptional(hash)
+                .map(blob -> new ByteArrayImageContent(blob.getData()))
+                .orElseThrow(() -> new IOException("Conteúdo da imagem não encontrado: " + hash));
+    }
+
+    @Override
+    @Transactional
+    public void delete(String hash) {
+        imageBlobRepository.deleteById(hash);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.vicaw.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileImageContent implements ImageContent {
+
+    private final Path path;
+    private final long size;
+
+    public FileImageContent(Path path) throws IOException {
+        this.path = path;
+        this.size = Files.size(path);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void transferTo(OutputStream out) throws IOException {
+        transferTo(out, 0, size);
+    }
+
+    // Copia direto do FileChannel para o canal de saída, sem carregar o arquivo no heap.
+    @Override
+    public void transferTo(OutputStream out, long offset, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        }
+    }
+
+    @Override
+    public byte[] readAllBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+}
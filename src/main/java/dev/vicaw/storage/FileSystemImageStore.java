@@ -0,0 +1,81 @@
+package dev.vicaw.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+// Guarda cada conteúdo em <raiz>/ab/cd/abcd..., onde abcd... é o SHA-256 do arquivo.
+@ApplicationScoped
+@IfBuildProperty(name = "images.store.type", stringValue = "filesystem", enableIfMissing = true)
+public class FileSystemImageStore implements ImageStore {
+
+    @ConfigProperty(name = "images.store.filesystem.path", defaultValue = "data/images")
+    String rootPath;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(rootPath).toAbsolutePath();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public StoredImage put(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = ContentHash.toHex(digest.digest());
+            Path target = pathOf(hash);
+
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Outro upload com o mesmo conteúdo chegou primeiro.
+                }
+            }
+
+            return new StoredImage(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.exists(pathOf(hash));
+    }
+
+    @Override
+    public ImageContent open(String hash) throws IOException {
+        return new FileImageContent(pathOf(hash));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(pathOf(hash));
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.vicaw.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ImageContent {
+
+    long size();
+
+    void transferTo(OutputStream out) throws IOException;
+
+    void transferTo(OutputStream out, long offset, long length) throws IOException;
+
+    byte[] readAllBytes() throws IOException;
+
+    // Stream do conteúdo, para quem lê só o começo (como o cabeçalho da imagem). Quem chama fecha.
+    InputStream openStream() throws IOException;
+}
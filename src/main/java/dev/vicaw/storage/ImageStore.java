@@ -0,0 +1,17 @@
+package dev.vicaw.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Armazenamento do conteúdo das imagens, endereçado pelo hash SHA-256 do conteúdo.
+// A tabela images guarda apenas os metadados e o hash.
+public interface ImageStore {
+
+    StoredImage put(InputStream in) throws IOException;
+
+    boolean exists(String hash);
+
+    ImageContent open(String hash) throws IOException;
+
+    void delete(String hash) throws IOException;
+}
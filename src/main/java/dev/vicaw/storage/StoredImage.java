@@ -0,0 +1,9 @@
+package dev.vicaw.storage;
+
+import lombok.Value;
+
+@Value
+public class StoredImage {
+    String hash;
+    long size;
+}
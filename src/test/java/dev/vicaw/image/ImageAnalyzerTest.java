@@ -0,0 +1,67 @@
+package dev.vicaw.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImageAnalyzerTest {
+
+    ImageAnalyzer imageAnalyzer;
+
+    @BeforeEach
+    void setUp() {
+        imageAnalyzer = new ImageAnalyzer();
+        imageAnalyzer.placeholderSize = 20;
+    }
+
+    private static byte[] png(int w, int h) throws IOException {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(0x20, 0x80, 0x20));
+        g.fillRect(0, 0, w, h);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, w / 4, h / 4);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testAnalyze_DimensionsAndDominantColor() throws IOException {
+        ImageMetadata metadata = imageAnalyzer.analyze(png(400, 300)).get();
+
+        assertEquals(400, metadata.getWidth());
+        assertEquals(300, metadata.getHeight());
+        assertEquals("#208020", metadata.getDominantColor());
+    }
+
+    @Test
+    void testAnalyze_PlaceholderFitsInConfiguredSize() throws IOException {
+        String placeholder = imageAnalyzer.analyze(png(400, 300)).get().getPlaceholder();
+        assertTrue(placeholder.startsWith("data:image/jpeg;base64,"));
+
+        byte[] data = Base64.getDecoder().decode(placeholder.substring(placeholder.indexOf(',') + 1));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        assertEquals(20, image.getWidth());
+        assertEquals(15, image.getHeight());
+    }
+
+    @Test
+    void testAnalyze_InvalidContent() {
+        assertTrue(imageAnalyzer.analyze(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 }).isEmpty());
+    }
+}
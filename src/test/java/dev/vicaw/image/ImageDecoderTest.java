@@ -0,0 +1,101 @@
+package dev.vicaw.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+class ImageDecoderTest {
+
+    private static byte[] encode(int w, int h, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+
+    // PNG de poucos bytes cujo cabeçalho declara width x height, sem dados de pixels válidos.
+    private static byte[] pngHeader(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(17);
+        ihdr.put(new byte[] { 'I', 'H', 'D', 'R' }).putInt(width).putInt(height)
+                .put(new byte[] { 8, 2, 0, 0, 0 });
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+
+        return ByteBuffer.allocate(8 + 4 + 17 + 4)
+                .put(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' })
+                .putInt(13)
+                .put(ihdr.array())
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    @Test
+    void testReadHeader_DetectsFormatFromContent() throws IOException {
+        ImageHeader jpeg = ImageDecoder.readHeader(encode(40, 30, "jpg")).get();
+        assertEquals(ImageFormat.JPEG, jpeg.getFormat());
+        assertEquals(40, jpeg.getWidth());
+        assertEquals(30, jpeg.getHeight());
+
+        assertEquals(ImageFormat.PNG, ImageDecoder.readHeader(encode(8, 8, "png")).get().getFormat());
+    }
+
+    @Test
+    void testReadHeader_DoesNotDecodePixels() {
+        ImageHeader header = ImageDecoder.readHeader(pngHeader(50000, 50000)).get();
+
+        assertEquals(2_500_000_000L, header.getPixels());
+    }
+
+    @Test
+    void testReadHeader_ReadsOnlyTheBeginningOfTheStream() {
+        byte[] header = pngHeader(4000, 3000);
+        byte[] data = Arrays.copyOf(header, header.length + 1_000_000);
+        ByteArrayInputStream in = new ByteArrayInputStream(data);
+
+        assertEquals(4000, ImageDecoder.readHeader(in).get().getWidth());
+        assertTrue(in.available() > 900_000);
+    }
+
+    @Test
+    void testReadHeader_RejectsUnknownContent() {
+        assertTrue(ImageDecoder.readHeader("não é imagem".getBytes()).isEmpty());
+        assertTrue(ImageDecoder.readHeader(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 })
+                .isEmpty());
+    }
+
+    @Test
+    void testDecode_Subsamples() throws IOException {
+        BufferedImage decoded = ImageDecoder.decode(encode(1200, 800, "jpg"), 64, 64);
+
+        // 800 / (64 * 2) = 6
+        assertEquals(200, decoded.getWidth());
+        assertTrue(decoded.getHeight() >= 128);
+        assertNull(ImageDecoder.decode(new byte[] { 1, 2, 3 }, 64, 64));
+    }
+
+    @Test
+    void testDecodeCropped_OnlyDecodesCenterRegion() throws IOException {
+        BufferedImage decoded = ImageDecoder.decodeCropped(encode(1200, 800, "jpg"), 64, 64);
+
+        // Região 800x800, 800 / (64 * 2) = 6
+        assertEquals(134, decoded.getWidth());
+        assertEquals(134, decoded.getHeight());
+    }
+
+    @Test
+    void testSubsampling_NeverBelowOne() {
+        assertEquals(1, ImageDecoder.subsampling(100, 100, 320, 240));
+        assertEquals(4, ImageDecoder.subsampling(2560, 1920, 320, 240));
+    }
+}
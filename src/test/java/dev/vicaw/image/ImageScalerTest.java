@@ -0,0 +1,80 @@
+package dev.vicaw.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImageScalerTest {
+
+    ImageScaler imageScaler;
+
+    @BeforeEach
+    void setUp() {
+        imageScaler = new ImageScaler();
+        imageScaler.resamplerName = "lanczos";
+        imageScaler.defaultQuality = 80;
+        imageScaler.init();
+    }
+
+    private static BufferedImage gradient(int w, int h) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.RED, w, h, Color.BLUE));
+        g.fillRect(0, 0, w, h);
+        g.setColor(Color.WHITE);
+        g.drawLine(0, h / 2, w, h / 3);
+        g.dispose();
+        return image;
+    }
+
+    // SOF2 (0xFFC2) marca um JPEG progressivo.
+    private static boolean isProgressive(byte[] jpeg) {
+        for (int i = 0; i < jpeg.length - 1; i++) {
+            if ((jpeg[i] & 0xFF) == 0xFF && (jpeg[i + 1] & 0xFF) == 0xC2)
+                return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testScale_JpegIsProgressive() throws IOException {
+        byte[] data = imageScaler.scale(gradient(400, 300), 64, 48);
+
+        assertTrue(isProgressive(data));
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+        assertEquals(64, decoded.getWidth());
+        assertEquals(48, decoded.getHeight());
+    }
+
+    @Test
+    void testScale_LowerQualityIsSmaller() throws IOException {
+        BufferedImage source = gradient(400, 300);
+
+        byte[] low = imageScaler.scale(source, 320, 240, ImageFormat.JPEG, 30);
+        byte[] high = imageScaler.scale(source, 320, 240, ImageFormat.JPEG, 95);
+
+        assertTrue(low.length < high.length);
+    }
+
+    @Test
+    void testScale_Png() throws IOException {
+        byte[] data = imageScaler.scale(gradient(400, 300), 64, 48, ImageFormat.PNG, 0);
+
+        assertEquals((byte) 0x89, data[0]);
+        assertEquals('P', data[1]);
+        assertEquals('N', data[2]);
+        assertEquals('G', data[3]);
+        assertEquals(64, ImageIO.read(new ByteArrayInputStream(data)).getWidth());
+    }
+}
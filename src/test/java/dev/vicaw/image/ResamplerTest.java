@@ -0,0 +1,57 @@
+package dev.vicaw.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ResamplerTest {
+
+    private static BufferedImage solid(int w, int h, Color color) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        return image;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "smooth", "bilinear", "lanczos" })
+    void testResize_Downscale(String name) {
+        BufferedImage result = Resampler.forName(name).resize(solid(400, 300, new Color(200, 100, 50)), 64, 48);
+
+        assertEquals(64, result.getWidth());
+        assertEquals(48, result.getHeight());
+        assertEquals(new Color(200, 100, 50).getRGB(), result.getRGB(32, 24));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "smooth", "bilinear", "lanczos" })
+    void testResize_Upscale(String name) {
+        BufferedImage result = Resampler.forName(name).resize(solid(10, 10, Color.WHITE), 25, 40);
+
+        assertEquals(25, result.getWidth());
+        assertEquals(40, result.getHeight());
+        assertEquals(Color.WHITE.getRGB(), result.getRGB(0, 0));
+    }
+
+    @Test
+    void testForName_Unknown() {
+        assertThrows(IllegalArgumentException.class, () -> Resampler.forName("nearest"));
+    }
+
+    @Test
+    void testCrop_KeepsCenterWithTargetAspectRatio() {
+        BufferedImage cropped = ImageScaler.crop(solid(400, 300, Color.BLACK), 64, 64);
+
+        assertEquals(300, cropped.getWidth());
+        assertEquals(300, cropped.getHeight());
+    }
+}
@@ -0,0 +1,111 @@
+package dev.vicaw.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.vicaw.model.Rating;
+import dev.vicaw.model.RatingAggregate;
+import dev.vicaw.model.Recipe;
+import dev.vicaw.model.User;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RatingRepositoryTest {
+
+    @Inject
+    RatingRepository ratingRepository;
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    private List<User> users;
+    private Recipe bolo;
+    private Recipe sopa;
+    private Recipe torta;
+
+    private Recipe recipe(String titulo) {
+        return Recipe.builder()
+                .titulo(titulo)
+                .user(users.get(0))
+                .build();
+    }
+
+    private Rating rating(Recipe recipe, User user, Integer score) {
+        return Rating.builder()
+                .score(score)
+                .recipe(recipe)
+                .user(user)
+                .build();
+    }
+
+    @BeforeAll
+    @Transactional
+    void insertData() {
+        users = List.of(
+                User.builder().name("Joao").build(),
+                User.builder().name("Maria").build(),
+                User.builder().name("Jose").build());
+        userRepository.persist(users);
+
+        bolo = recipe("Bolo de Chocolate");
+        sopa = recipe("Sopa de Legumes");
+        // Só uma avaliação sem nota, que não entra no histograma.
+        torta = recipe("Torta de Limão");
+        recipeRepository.persist(List.of(bolo, sopa, torta));
+
+        ratingRepository.persist(List.of(
+                rating(bolo, users.get(1), 5),
+                rating(bolo, users.get(2), 3),
+                rating(sopa, users.get(1), 4),
+                rating(sopa, users.get(2), 4),
+                // Notas gravadas antes da validação de 1 a 5.
+                rating(bolo, users.get(0), 7),
+                rating(torta, users.get(1), null)));
+    }
+
+    @AfterAll
+    @Transactional
+    void cleanupDatabase() {
+        ratingRepository.delete("recipe.id in ?1", List.of(bolo.getId(), sopa.getId(), torta.getId()));
+        recipeRepository.delete("id in ?1", List.of(bolo.getId(), sopa.getId(), torta.getId()));
+        userRepository.delete("id in ?1", users.stream().map(User::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @Transactional
+    void testAggregateByRecipeIds_SeveralRecipesInOneCall() {
+        Map<Long, RatingAggregate> aggregates = ratingRepository
+                .aggregateByRecipeIds(List.of(bolo.getId(), sopa.getId(), torta.getId()));
+
+        assertEquals(List.of(0L, 0L, 1L, 0L, 1L), aggregates.get(bolo.getId()).getHistogram());
+        assertEquals(2, aggregates.get(bolo.getId()).getCount());
+        assertEquals(4.0, aggregates.get(bolo.getId()).average());
+
+        assertEquals(List.of(0L, 0L, 0L, 2L, 0L), aggregates.get(sopa.getId()).getHistogram());
+        assertEquals(8, aggregates.get(sopa.getId()).getSum());
+
+        assertFalse(aggregates.containsKey(torta.getId()));
+    }
+
+    @Test
+    @Transactional
+    void testAggregateByRecipeIds_EmptyInput() {
+        assertTrue(ratingRepository.aggregateByRecipeIds(List.of()).isEmpty());
+    }
+}
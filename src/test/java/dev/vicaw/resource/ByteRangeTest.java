@@ -0,0 +1,46 @@
+package dev.vicaw.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ByteRangeTest {
+
+    @Test
+    void testParse_SingleRange() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=0-99", 1000);
+
+        assertEquals(List.of(new ByteRange(0, 99)), ranges);
+        assertEquals(100, ranges.get(0).length());
+        assertEquals("bytes 0-99/1000", ranges.get(0).toContentRange(1000));
+    }
+
+    @Test
+    void testParse_OpenAndSuffixRanges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=900-, -50", 1000);
+
+        assertEquals(List.of(new ByteRange(900, 999), new ByteRange(950, 999)), ranges);
+    }
+
+    @Test
+    void testParse_EndBeyondSizeIsClamped() {
+        assertEquals(List.of(new ByteRange(500, 999)), ByteRange.parse("bytes=500-5000", 1000));
+    }
+
+    @Test
+    void testParse_Unsatisfiable() {
+        assertTrue(ByteRange.parse("bytes=1000-1200", 1000).isEmpty());
+    }
+
+    @Test
+    void testParse_InvalidHeaderIsIgnored() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-10", 1000));
+        assertNull(ByteRange.parse("bytes=10-5", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+    }
+}
@@ -0,0 +1,412 @@
+package dev.vicaw.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.vicaw.model.Image;
+import dev.vicaw.model.ImageRendition;
+import dev.vicaw.repository.ImageRenditionRepository;
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.service.ImageSavedEvent;
+import dev.vicaw.storage.ImageStore;
+import dev.vicaw.storage.StoredImage;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImageResourceTest {
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    ImageRenditionRepository imageRenditionRepository;
+
+    @Inject
+    ImageStore imageStore;
+
+    @Inject
+    Event<ImageSavedEvent> imageSavedEvent;
+
+    private static final String BASE_URL = "/images";
+
+    private Image image;
+
+    private Image icon;
+
+    @BeforeAll
+    @Transactional
+    void insertData() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "jpg", out);
+
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(out.toByteArray()));
+
+        image = new Image();
+        image.setName(UUID.randomUUID().toString() + "-teste.jpg");
+        image.setHash(stored.getHash());
+        image.setSize(stored.getSize());
+
+        imageRepository.persist(image);
+
+        out.reset();
+        ImageIO.write(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB), "png", out);
+        StoredImage storedIcon = imageStore.put(new ByteArrayInputStream(out.toByteArray()));
+
+        icon = new Image();
+        icon.setName(UUID.randomUUID().toString() + "-icone.png");
+        icon.setHash(storedIcon.getHash());
+        icon.setSize(storedIcon.getSize());
+        icon.setContentType("image/png");
+        icon.setWidth(16);
+        icon.setHeight(16);
+
+        imageRepository.persist(icon);
+    }
+
+    @AfterAll
+    @Transactional
+    void cleanupDatabase() {
+        imageRenditionRepository.deleteAll();
+        imageRepository.deleteAll();
+    }
+
+    private static byte[] jpeg(int width, int height, Color color) throws IOException {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private Image newImage(byte[] data) throws IOException {
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(data));
+
+        Image saved = new Image();
+        saved.setName(UUID.randomUUID().toString() + "-gerada.jpg");
+        saved.setHash(stored.getHash());
+        saved.setSize(stored.getSize());
+        saved.setContentType("image/jpeg");
+        return saved;
+    }
+
+    private boolean hasRenditions(String name) {
+        return QuarkusTransaction.requiringNew().call(() -> imageRenditionRepository.count("imageName", name)) == 3;
+    }
+
+    @Test
+    void testImageSaved_GeneratesRenditionsOnlyAfterCommit() throws Exception {
+        Image rolledBack = newImage(jpeg(200, 150, Color.BLACK));
+        assertThrows(IllegalStateException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            imageRepository.persist(rolledBack);
+            imageSavedEvent.fire(new ImageSavedEvent(rolledBack.getName()));
+            throw new IllegalStateException("rollback");
+        }));
+
+        Image committed = newImage(jpeg(200, 150, Color.BLACK));
+        QuarkusTransaction.requiringNew().run(() -> {
+            imageRepository.persist(committed);
+            imageSavedEvent.fire(new ImageSavedEvent(committed.getName()));
+        });
+
+        // Uma miniatura para cada tamanho padrão (64x64, 320x240, 1280x720).
+        for (int i = 0; i < 100 && !hasRenditions(committed.getName()); i++)
+            Thread.sleep(50);
+
+        assertTrue(hasRenditions(committed.getName()));
+        assertTrue(QuarkusTransaction.requiringNew()
+                .call(() -> imageRenditionRepository.count("imageName", rolledBack.getName())) == 0);
+    }
+
+    @Test
+    void testGetScaledImage_ServesStoredRendition() throws Exception {
+        Image saved = newImage(jpeg(200, 150, Color.BLACK));
+        // Conteúdo diferente do que o redimensionamento produziria, para saber de onde veio a resposta.
+        byte[] stored = jpeg(64, 64, Color.RED);
+        QuarkusTransaction.requiringNew().run(() -> {
+            imageRepository.persist(saved);
+            imageRenditionRepository.persist(ImageRendition.builder()
+                    .imageName(saved.getName())
+                    .width(64)
+                    .height(64)
+                    .data(stored)
+                    .build());
+        });
+
+        byte[] served = given()
+                .pathParam("name", saved.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asByteArray();
+
+        assertArrayEquals(stored, served);
+    }
+
+    @Test
+    void testGetImage_ReturnsValidators() {
+        given()
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"" + image.getHash() + "\""))
+                .header("Last-Modified", notNullValue())
+                .header("Cache-Control", containsString("immutable"));
+    }
+
+    @Test
+    void testGetImage_IfNoneMatch() {
+        given()
+                .header("If-None-Match", "\"" + image.getHash() + "\"")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void testGetScaledImage_IfNoneMatch() {
+        given()
+                .header("If-None-Match", "\"" + image.getHash() + "-64x64-q80.jpg\"")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void testGetScaledImage_NegotiatesFormatAndQuality() {
+        given()
+                .header("Accept", "image/png")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(200)
+                .contentType("image/png")
+                .header("ETag", equalTo("\"" + image.getHash() + "-64x64.png\""))
+                .header("Vary", containsString("Accept"));
+
+        given()
+                .queryParam("q", 43)
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(200)
+                .contentType("image/jpeg")
+                .header("ETag", equalTo("\"" + image.getHash() + "-64x64-q40.jpg\""));
+    }
+
+    @Test
+    void testGetScaledImage_InvalidQuality() {
+        given()
+                .queryParam("q", 0)
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetScaledImage_SmallPngIsPassedThrough() {
+        given()
+                .pathParam("name", icon.getName())
+                .when()
+                .get(BASE_URL + "/64/64/{name}")
+                .then()
+                .statusCode(200)
+                .contentType("image/png")
+                .header("ETag", equalTo("\"" + icon.getHash() + "\""));
+    }
+
+    @Test
+    void testGetScaledImage_RedirectsToNearestBucket() {
+        given()
+                .redirects().follow(false)
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/300/250/{name}")
+                .then()
+                .statusCode(301)
+                .header("Location", endsWith("/images/320/240/" + image.getName()));
+    }
+
+    @Test
+    void testGetScaledImage_InvalidSize() {
+        given()
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/-10/20/{name}")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetScaledImages_Batch() {
+        given()
+                .queryParam("name", image.getName(), icon.getName(), "nao-existe.jpg")
+                .when()
+                .get(BASE_URL + "/64/64")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("multipart/mixed; boundary="))
+                .body(containsString("Content-Location: /images/64/64/" + image.getName()),
+                        containsString("Content-Location: /images/64/64/" + icon.getName()),
+                        containsString("Content-Location: /images/64/64/nao-existe.jpg"));
+    }
+
+    @Test
+    void testGetScaledImages_FailedItemFallsBack() {
+        // Linha sem o conteúdo no ImageStore: a miniatura falha, as outras continuam.
+        Image missing = new Image();
+        missing.setName(UUID.randomUUID().toString() + "-sem-conteudo.jpg");
+        missing.setHash("0".repeat(64));
+        missing.setContentType("image/jpeg");
+        QuarkusTransaction.requiringNew().run(() -> imageRepository.persist(missing));
+
+        given()
+                .queryParam("name", missing.getName(), image.getName())
+                .when()
+                .get(BASE_URL + "/128/128")
+                .then()
+                .statusCode(200)
+                .body(containsString("Content-Location: /images/128/128/" + missing.getName()),
+                        containsString("Content-Location: /images/128/128/" + image.getName()));
+    }
+
+    @Test
+    void testGetScaledImages_WithoutNames() {
+        given()
+                .when()
+                .get(BASE_URL + "/64/64")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetImage_SingleRange() {
+        given()
+                .header("Range", "bytes=0-9")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", equalTo("bytes 0-9/" + image.getSize()))
+                .header("Content-Length", equalTo("10"));
+    }
+
+    @Test
+    void testGetImage_IfRangeWithCurrentETag() {
+        given()
+                .header("Range", "bytes=0-9")
+                .header("If-Range", "\"" + image.getHash() + "\"")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", equalTo("bytes 0-9/" + image.getSize()));
+
+        given()
+                .header("Range", "bytes=0-9")
+                .header("If-Range", "\"outra-versao\"")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(200)
+                .header("Content-Length", equalTo(String.valueOf(image.getSize())));
+    }
+
+    @Test
+    void testGetImage_IfRangeWithDate() {
+        String lastModified = given()
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(200)
+                .extract().header("Last-Modified");
+
+        given()
+                .header("Range", "bytes=0-9")
+                .header("If-Range", lastModified)
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(206);
+
+        given()
+                .header("Range", "bytes=0-9")
+                .header("If-Range", "Thu, 01 Jan 1970 00:00:00 GMT")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void testGetImage_UnsatisfiableRange() {
+        given()
+                .header("Range", "bytes=" + image.getSize() + "-")
+                .pathParam("name", image.getName())
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(416)
+                .header("Content-Range", equalTo("bytes */" + image.getSize()));
+    }
+
+    @Test
+    void testGetImage_NotFoundReturnsFallbackWithoutValidators() {
+        given()
+                .pathParam("name", "nao-existe.jpg")
+                .when()
+                .get(BASE_URL + "/{name}")
+                .then()
+                .statusCode(200)
+                .header("ETag", nullValue());
+    }
+}
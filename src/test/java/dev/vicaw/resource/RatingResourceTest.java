@@ -1,8 +1,10 @@
 package dev.vicaw.resource;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -126,6 +128,10 @@ class RatingResourceTest {
         populateUsers();
         populateRecipes();
         populateRatings();
+        recipe.setRatingCount(ratings.size());
+        recipe.setRatingSum(ratings.stream().mapToInt(Rating::getScore).sum());
+        recipe.setScore3Count(1);
+        recipe.setScore5Count(1);
 
         userRepository.persist(users);
         recipeRepository.persist(recipe);
@@ -155,6 +161,47 @@ class RatingResourceTest {
                 .body("ratings.size()", equalTo(ratings.size()));
     }
 
+    @Test
+    @Order(1)
+    void testListRecipeRatings_FollowsCursor() {
+        String nextCursor = given()
+                .pathParam("id", recipe.getId())
+                .queryParam("pagesize", 1)
+                .queryParam("orderBy", "highest")
+                .when()
+                .get(BASE_URL + "/{id}")
+                .then()
+                .statusCode(200)
+                .body("ratings.size()", equalTo(1))
+                .body("ratings[0].score", equalTo(5))
+                .extract()
+                .path("nextCursor");
+
+        given()
+                .pathParam("id", recipe.getId())
+                .queryParam("pagesize", 1)
+                .queryParam("orderBy", "highest")
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get(BASE_URL + "/{id}")
+                .then()
+                .statusCode(200)
+                .body("ratings.size()", equalTo(1))
+                .body("ratings[0].score", equalTo(3))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    void testListRecipeRatings_InvalidCursor() {
+        given()
+                .pathParam("id", recipe.getId())
+                .queryParam("cursor", "invalido")
+                .when()
+                .get(BASE_URL + "/{id}")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     @Order(2)
     void testGetRecipeRatingInfo_Success() {
@@ -170,10 +217,13 @@ class RatingResourceTest {
                 .then()
                 .statusCode(200)
                 .body("score", equalTo((float) averageScore))
-                .body("count", equalTo(ratings.size()));
+                .body("count", equalTo(ratings.size()))
+                .body("histogram", contains(0, 0, 1, 0, 1));
     }
 
+    // Depois de testGetRecipeRatingInfo_Success, que confere os totais antes da nova avaliação.
     @Test
+    @Order(3)
     void testPostRecipeRating_Success() {
 
         RatingCreateRequest ratingRequest = RatingCreateRequest.builder()
@@ -192,6 +242,16 @@ class RatingResourceTest {
                 .statusCode(200)
                 .body("comment", equalTo(ratingRequest.getComment()))
                 .body("score", equalTo(ratingRequest.getScore()));
+
+        given()
+                .pathParam("id", recipe.getId())
+                .when()
+                .get(BASE_URL + "/{id}/info")
+                .then()
+                .statusCode(200)
+                .body("score", equalTo((float) (13.0 / 3)))
+                .body("count", equalTo(3))
+                .body("histogram", contains(0, 0, 1, 0, 2));
     }
 
     @Test
@@ -0,0 +1,131 @@
+package dev.vicaw.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.eclipse.microprofile.jwt.Claims;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.vicaw.model.Recipe;
+import dev.vicaw.model.User;
+import dev.vicaw.model.request.RatingCreateRequest;
+import dev.vicaw.repository.RatingRepository;
+import dev.vicaw.repository.RecipeRepository;
+import dev.vicaw.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.smallrye.jwt.build.Jwt;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+// Ordenação por avaliação de ponta a ponta: as notas entram pela API e o rankingScore
+// calculado no banco decide a ordem da listagem.
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecipeRankingResourceTest {
+
+    @Inject
+    RatingRepository ratingRepository;
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    private User author;
+    private List<User> raters;
+    private Recipe umaNotaAlta;
+    private Recipe variasNotasBoas;
+    private Recipe semNotas;
+
+    private Recipe recipe(String titulo) {
+        return Recipe.builder()
+                .titulo(titulo)
+                .user(author)
+                .build();
+    }
+
+    private String generateToken(User user) {
+        return Jwt.issuer("http://localhost:8080")
+                .upn("email@qualquer.com")
+                .claim(Claims.full_name, user.getName())
+                .claim(Claims.sub, user.getId().toString())
+                .expiresIn(60 * 60 * 7L)
+                .sign();
+    }
+
+    private void rate(Recipe recipe, User user, int score) {
+        given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + generateToken(user))
+                .pathParam("id", recipe.getId())
+                .body(RatingCreateRequest.builder().comment("Avaliação de teste").score(score).build())
+                .when()
+                .post("/api/ratings/{id}")
+                .then()
+                .statusCode(200);
+    }
+
+    private double rankingScore(Recipe recipe) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> recipeRepository.findById(recipe.getId()).getRankingScore());
+    }
+
+    @BeforeAll
+    @Transactional
+    void insertData() {
+        author = User.builder().name("Joao").build();
+        raters = List.of(
+                User.builder().name("Maria").build(),
+                User.builder().name("Jose").build(),
+                User.builder().name("Valentina").build());
+        userRepository.persist(author);
+        userRepository.persist(raters);
+
+        umaNotaAlta = recipe("Bolo de Chocolate");
+        variasNotasBoas = recipe("Sopa de Legumes");
+        semNotas = recipe("Torta de Limão");
+        recipeRepository.persist(List.of(umaNotaAlta, variasNotasBoas, semNotas));
+    }
+
+    @AfterAll
+    @Transactional
+    void cleanupDatabase() {
+        List<Long> recipeIds = List.of(umaNotaAlta.getId(), variasNotasBoas.getId(), semNotas.getId());
+        ratingRepository.delete("recipe.id in ?1", recipeIds);
+        recipeRepository.delete("id in ?1", recipeIds);
+        userRepository.delete("id", author.getId());
+        raters.forEach(rater -> userRepository.delete("id", rater.getId()));
+    }
+
+    @Test
+    void testPostRating_UpdatesRankingScoreAndOrder() {
+        rate(umaNotaAlta, raters.get(0), 5);
+        rate(variasNotasBoas, raters.get(0), 4);
+        rate(variasNotasBoas, raters.get(1), 4);
+        rate(variasNotasBoas, raters.get(2), 5);
+
+        // Prior padrão: 5 avaliações fictícias de nota 3.
+        assertEquals((3.0 * 5 + 5) / (5 + 1), rankingScore(umaNotaAlta), 1e-9);
+        assertEquals((3.0 * 5 + 13) / (5 + 3), rankingScore(variasNotasBoas), 1e-9);
+        assertEquals(0.0, rankingScore(semNotas));
+
+        given()
+                .queryParam("authorId", author.getId())
+                .queryParam("orderBy", "rating")
+                .when()
+                .get("/api/recipes")
+                .then()
+                .statusCode(200)
+                .body("recipes.id", contains(variasNotasBoas.getId().intValue(), umaNotaAlta.getId().intValue(),
+                        semNotas.getId().intValue()));
+    }
+}
@@ -4,14 +4,23 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.imageio.ImageIO;
 
 import org.eclipse.microprofile.jwt.Claims;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -31,6 +40,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import io.smallrye.jwt.build.Jwt;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 
 @QuarkusTest
@@ -43,6 +53,9 @@ class RecipeResourceTest {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
     private static final String BASE_URL = "/api/recipes";
 
     private File testImage;
@@ -136,9 +149,7 @@ class RecipeResourceTest {
     @BeforeAll
     void createTempImage() throws IOException {
         File tempFile = File.createTempFile("test-image", ".jpg");
-        try (FileOutputStream out = new FileOutputStream(tempFile)) {
-            out.write(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 });
-        }
+        ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "jpg", tempFile);
         testImage = tempFile;
     }
 
@@ -165,6 +176,28 @@ class RecipeResourceTest {
                 .body("recipes.size()", equalTo(4));
     }
 
+    @Test
+    @Order(1)
+    void testGetAllRecipes_QueryCountDoesNotDependOnPageSize() {
+        assertEquals(countStatements(1), countStatements(recipes.size()));
+    }
+
+    private long countStatements(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        given()
+                .queryParam("pagesize", pageSize)
+                .queryParam("page", 0)
+                .when()
+                .get(BASE_URL)
+                .then()
+                .statusCode(200)
+                .body("recipes.size()", equalTo(pageSize));
+
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     @Order(2)
     void testGetAllRecipes_WithFilters() {
@@ -262,6 +295,105 @@ class RecipeResourceTest {
                 .body("titulo", equalTo(request.getTitulo()));
     }
 
+    @Test
+    void testCreateRecipe_SameImageIsDeduplicated() throws IOException {
+        BufferedImage img = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(new Color(ThreadLocalRandom.current().nextInt(0x1000000)));
+        g.fillRect(0, 0, 40, 30);
+        g.dispose();
+
+        File image = File.createTempFile("test-image-dedup", ".jpg");
+        ImageIO.write(img, "jpg", image);
+
+        RecipeCreateRequest request = RecipeCreateRequest.builder()
+                .titulo("New Recipe")
+                .ingredientes("New Ingredients")
+                .modoPreparo("New Preparation")
+                .about("New About")
+                .build();
+
+        try {
+            String firstUrl = createRecipeWithImage(request, image);
+            String secondUrl = createRecipeWithImage(request, image);
+            assertEquals(firstUrl, secondUrl);
+
+            String imageName = firstUrl.substring(firstUrl.lastIndexOf("/images/") + "/images/".length());
+            given()
+                    .pathParam("name", imageName)
+                    .when()
+                    .get("/api/images/{name}")
+                    .then()
+                    .statusCode(200)
+                    .body("referenceCount", equalTo(2));
+
+            String adminToken = Jwt
+                    .issuer("http://localhost:8080")
+                    .upn("email@qualquer.com")
+                    .groups("ADMIN")
+                    .expiresIn(60 * 60 * 7L)
+                    .sign();
+
+            given()
+                    .header("Authorization", "Bearer " + adminToken)
+                    .pathParam("name", imageName)
+                    .when()
+                    .delete("/api/images/{name}")
+                    .then()
+                    .statusCode(409);
+        } finally {
+            image.delete();
+        }
+    }
+
+    private String createRecipeWithImage(RecipeCreateRequest request, File image) {
+        return given()
+                .contentType(ContentType.MULTIPART)
+                .header("Authorization", "Bearer " + jwtToken)
+                .multiPart("file", image)
+                .multiPart("fileName", image.getName())
+                .multiPart("object", request, "application/json")
+                .when()
+                .post(BASE_URL)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("urlFoto");
+    }
+
+    @Test
+    void testCreateRecipe_ImageContentDoesNotMatchExtension() {
+        RecipeCreateRequest request = RecipeCreateRequest.builder()
+                .titulo("New Recipe")
+                .ingredientes("New Ingredients")
+                .modoPreparo("New Preparation")
+                .about("New About")
+                .build();
+
+        // O mesmo conteúdo já está em uso com a extensão certa: a rejeição não o remove.
+        String url = createRecipeWithImage(request, testImage);
+
+        given()
+                .contentType(ContentType.MULTIPART)
+                .header("Authorization", "Bearer " + jwtToken)
+                .multiPart("file", testImage)
+                .multiPart("fileName", "foto.png")
+                .multiPart("object", request, "application/json")
+                .when()
+                .post(BASE_URL)
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("O conteúdo do arquivo não corresponde à extensão informada."));
+
+        given()
+                .when()
+                .get(url.substring(url.lastIndexOf("/images/")))
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Content-Length", equalTo(String.valueOf(testImage.length())));
+    }
+
     @Test
     void testCreateRecipe_InvalidData() {
         RecipeCreateRequest request = RecipeCreateRequest.builder()
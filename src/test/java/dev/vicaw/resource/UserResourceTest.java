@@ -6,10 +6,12 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
+import javax.imageio.ImageIO;
+
 import org.eclipse.microprofile.jwt.Claims;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -80,9 +82,7 @@ class UserResourceTest {
 	@BeforeAll
 	void createTempImage() throws IOException {
 		File tempFile = File.createTempFile("test-image", ".jpg");
-		try (FileOutputStream out = new FileOutputStream(tempFile)) {
-			out.write(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 });
-		}
+		ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "jpg", tempFile);
 		testImage = tempFile;
 	}
 
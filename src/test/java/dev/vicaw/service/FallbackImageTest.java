@@ -0,0 +1,85 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.vicaw.image.ImageScaler;
+
+class FallbackImageTest {
+
+    FallbackImage fallbackImage;
+
+    ImageScalingExecutor scalingExecutor;
+
+    AtomicInteger scaleCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        scalingExecutor = new ImageScalingExecutor();
+        scalingExecutor.workers = 1;
+        scalingExecutor.queueSize = 1;
+        scalingExecutor.timeoutMillis = 5000;
+        scalingExecutor.init();
+
+        fallbackImage = new FallbackImage();
+        fallbackImage.scalingExecutor = scalingExecutor;
+        fallbackImage.maxRenditions = 4;
+        fallbackImage.imageScaler = new ImageScaler() {
+            @Override
+            public byte[] scale(BufferedImage img, int w, int h) {
+                scaleCalls.incrementAndGet();
+                if (w == 1)
+                    throw new IllegalStateException();
+                return new byte[] { (byte) w, (byte) h };
+            }
+        };
+        fallbackImage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scalingExecutor.shutdown();
+    }
+
+    @Test
+    void testContent_IsLoadedOnce() throws Exception {
+        assertTrue(fallbackImage.content().size() > 0);
+        assertSame(fallbackImage.content().readAllBytes(), fallbackImage.content().readAllBytes());
+    }
+
+    @Test
+    void testScaled_IsGeneratedOncePerSize() {
+        byte[] first = fallbackImage.scaled(64, 64);
+        byte[] second = fallbackImage.scaled(64, 64);
+        fallbackImage.scaled(320, 240);
+
+        assertSame(first, second);
+        assertArrayEquals(new byte[] { 64, 64 }, first);
+        assertEquals(2, scaleCalls.get());
+    }
+
+    @Test
+    void testScaledAsync_SharesRenditionsWithScaled() {
+        byte[] first = fallbackImage.scaledAsync(64, 64).await().atMost(Duration.ofSeconds(5));
+
+        assertSame(first, fallbackImage.scaled(64, 64));
+        assertEquals(1, scaleCalls.get());
+    }
+
+    @Test
+    void testScaledAsync_FailureReturnsOriginal() throws Exception {
+        byte[] data = fallbackImage.scaledAsync(1, 1).await().atMost(Duration.ofSeconds(5));
+
+        assertSame(fallbackImage.content().readAllBytes(), data);
+    }
+}
@@ -0,0 +1,177 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import dev.vicaw.model.Image;
+import dev.vicaw.model.Recipe;
+import dev.vicaw.model.User;
+import dev.vicaw.repository.ImageRepository;
+import dev.vicaw.repository.RecipeRepository;
+import dev.vicaw.repository.UserRepository;
+import dev.vicaw.storage.ImageStore;
+import dev.vicaw.storage.StoredImage;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(OrderAnnotation.class)
+class ImageGarbageCollectorTest {
+
+    @Inject
+    ImageGarbageCollector imageGarbageCollector;
+
+    @Inject
+    ImageRepository imageRepository;
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    ImageStore imageStore;
+
+    private Image orphan;
+    private Image sharedOrphan;
+    private Image shared;
+    private Image recipePhoto;
+    private Image userPhoto;
+    private Image counted;
+
+    private User user;
+    private Recipe recipe;
+
+    private Image persistImage(int referenceCount) throws IOException {
+        byte[] data = UUID.randomUUID().toString().getBytes();
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(data));
+        return persistImage(stored, referenceCount);
+    }
+
+    private Image persistImage(StoredImage stored, int referenceCount) {
+        Image image = new Image();
+        image.setName(UUID.randomUUID().toString() + "-gc.jpg");
+        image.setHash(stored.getHash());
+        image.setSize(stored.getSize());
+        image.setReferenceCount(referenceCount);
+        imageRepository.persist(image);
+        return image;
+    }
+
+    @BeforeAll
+    @Transactional
+    void insertData() throws IOException {
+        orphan = persistImage(0);
+        // Mesmo conteúdo de uma imagem em uso: a linha sai, o conteúdo fica.
+        shared = persistImage(1);
+        sharedOrphan = persistImage(new StoredImage(shared.getHash(), shared.getSize()), 0);
+        // Imagem sem contador (anterior a ele), mas ainda em uso.
+        recipePhoto = persistImage(0);
+        userPhoto = persistImage(1);
+        // Contador positivo, mas nenhuma foto aponta para a imagem.
+        counted = persistImage(1);
+
+        user = User.builder()
+                .name("Joao")
+                .photoUrl("http://localhost:8080/images/" + userPhoto.getName())
+                .build();
+        userRepository.persist(user);
+
+        recipe = Recipe.builder()
+                .titulo("Bolo de Chocolate")
+                .urlFoto("http://localhost:8080/images/" + recipePhoto.getName())
+                .user(user)
+                .build();
+        recipeRepository.persist(recipe);
+    }
+
+    @AfterAll
+    @Transactional
+    void cleanupDatabase() {
+        recipeRepository.delete("id", recipe.getId());
+        userRepository.delete("id", user.getId());
+        imageRepository.delete("name in ?1", List.of(recipePhoto.getName(), userPhoto.getName(), shared.getName()));
+    }
+
+    // O banco é compartilhado com as outras classes de teste, então só as imagens criadas
+    // aqui são listadas e coletadas.
+    @Test
+    @Order(1)
+    void testListOrphanIds_SkipsReferencedImages() {
+        List<UUID> ids = imageRepository.listOrphanIds(LocalDateTime.now().plusSeconds(1),
+                new UUID(Long.MIN_VALUE, Long.MIN_VALUE), Integer.MAX_VALUE);
+
+        assertTrue(ids.contains(orphan.getId()));
+        assertTrue(ids.contains(sharedOrphan.getId()));
+        assertFalse(ids.contains(recipePhoto.getId()));
+        assertFalse(ids.contains(userPhoto.getId()));
+        assertFalse(ids.contains(counted.getId()));
+    }
+
+    @Test
+    @Order(2)
+    void testReconcileReferenceCounts_FixesStaleCounts() {
+        int reconciled = QuarkusTransaction.requiringNew().call(() -> imageRepository
+                .reconcileReferenceCounts(List.of(recipePhoto.getId(), userPhoto.getId(), counted.getId())));
+
+        assertEquals(2, reconciled);
+        assertEquals(1, imageRepository.findByName(recipePhoto.getName()).get().getReferenceCount());
+        assertEquals(1, imageRepository.findByName(userPhoto.getName()).get().getReferenceCount());
+        assertEquals(0, imageRepository.findByName(counted.getName()).get().getReferenceCount());
+    }
+
+    @Test
+    @Order(3)
+    void testCollect_RemovesOnlyUnreferencedImages() throws Exception {
+        for (Image image : List.of(orphan, sharedOrphan, recipePhoto, userPhoto, counted))
+            imageGarbageCollector.collect(image.getId());
+
+        assertTrue(imageRepository.findByName(orphan.getName()).isEmpty());
+        assertFalse(imageStore.exists(orphan.getHash()));
+
+        assertTrue(imageRepository.findByName(sharedOrphan.getName()).isEmpty());
+        assertTrue(imageStore.exists(shared.getHash()));
+
+        assertTrue(imageRepository.findByName(recipePhoto.getName()).isPresent());
+        assertTrue(imageRepository.findByName(userPhoto.getName()).isPresent());
+        assertTrue(imageStore.exists(userPhoto.getHash()));
+
+        assertTrue(imageRepository.findByName(counted.getName()).isEmpty());
+        assertFalse(imageStore.exists(counted.getHash()));
+    }
+
+    // Antes da coluna, a URL podia ter /images/ também no caminho do host.
+    @Test
+    @Order(4)
+    void testFillMissingImageNames_SameRuleAsNameFromUrl() {
+        String url = "http://localhost:8080/images/app/images/" + recipePhoto.getName();
+        QuarkusTransaction.requiringNew().run(() -> recipeRepository
+                .update("urlFoto = ?1, imageName = null where id = ?2", url, recipe.getId()));
+
+        QuarkusTransaction.requiringNew().run(() -> recipeRepository.fillMissingImageNames(100));
+
+        String imageName = QuarkusTransaction.requiringNew()
+                .call(() -> recipeRepository.findById(recipe.getId()).getImageName());
+        assertEquals(Image.nameFromUrl(url), imageName);
+        assertEquals(recipePhoto.getName(), imageName);
+    }
+}
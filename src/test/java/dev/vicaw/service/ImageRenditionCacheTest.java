@@ -0,0 +1,148 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.vicaw.image.ImageFormat;
+import dev.vicaw.model.RenditionSpec;
+import dev.vicaw.model.response.ImageCacheStatsResponse;
+import io.smallrye.mutiny.Uni;
+
+class ImageRenditionCacheTest {
+    private static final RenditionSpec SMALL = RenditionSpec.of(64, 64, ImageFormat.JPEG, 80);
+    private static final RenditionSpec MEDIUM = RenditionSpec.of(320, 240, ImageFormat.JPEG, 80);
+
+    ImageRenditionCache renditionCache;
+
+    @BeforeEach
+    void setUp() {
+        renditionCache = new ImageRenditionCache();
+        renditionCache.maxBytes = 1024;
+        renditionCache.init();
+    }
+
+    @Test
+    void testGet_HitAndMiss() {
+        byte[] data = new byte[] { 1, 2, 3 };
+        renditionCache.put("foto.jpg", SMALL, data);
+
+        assertArrayEquals(data, renditionCache.get("foto.jpg", SMALL).get());
+        assertTrue(renditionCache.get("foto.jpg", MEDIUM).isEmpty());
+        assertTrue(renditionCache.get("foto.jpg", RenditionSpec.of(64, 64, ImageFormat.JPEG, 50)).isEmpty());
+        assertTrue(renditionCache.get("foto.jpg", RenditionSpec.of(64, 64, ImageFormat.PNG, 80)).isEmpty());
+
+        ImageCacheStatsResponse stats = renditionCache.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(3, stats.getMissCount());
+        assertEquals(3, stats.getBytes());
+    }
+
+    @Test
+    void testInvalidate_RemovesAllRenditionsOfImage() {
+        renditionCache.put("foto.jpg", SMALL, new byte[10]);
+        renditionCache.put("foto.jpg", MEDIUM, new byte[10]);
+        renditionCache.put("outra.jpg", SMALL, new byte[10]);
+
+        renditionCache.invalidate("foto.jpg");
+
+        assertTrue(renditionCache.get("foto.jpg", SMALL).isEmpty());
+        assertTrue(renditionCache.get("foto.jpg", MEDIUM).isEmpty());
+        assertTrue(renditionCache.get("outra.jpg", SMALL).isPresent());
+    }
+
+    @Test
+    void testCoalesceAsync_ConcurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        List<Future<Uni<byte[]>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> renditionCache.coalesceAsync("foto.jpg", SMALL, () -> {
+                loads.incrementAndGet();
+                return Uni.createFrom().completionStage(pending);
+            })));
+        }
+
+        List<Uni<byte[]>> unis = new ArrayList<>();
+        for (Future<Uni<byte[]>> result : results)
+            unis.add(result.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(callers - 1, renditionCache.stats().getCoalescedCount());
+        pending.complete(new byte[] { 7 });
+
+        for (Uni<byte[]> uni : unis)
+            assertArrayEquals(new byte[] { 7 }, uni.await().atMost(Duration.ofSeconds(5)));
+
+        assertEquals(1, loads.get());
+        assertEquals(0, renditionCache.stats().getInFlight());
+    }
+
+    @Test
+    void testCoalesceAsync_FailureIsNotRemembered() {
+        Uni<byte[]> failed = renditionCache.coalesceAsync("foto.jpg", SMALL,
+                () -> Uni.createFrom().failure(new IllegalStateException()));
+        assertThrows(IllegalStateException.class, () -> failed.await().atMost(Duration.ofSeconds(5)));
+
+        Uni<byte[]> loaded = renditionCache.coalesceAsync("foto.jpg", SMALL,
+                () -> Uni.createFrom().item(new byte[] { 1 }));
+        assertArrayEquals(new byte[] { 1 }, loaded.await().atMost(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testCoalesceAsync_SharesPendingLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+
+        Uni<byte[]> first = renditionCache.coalesceAsync("foto.jpg", SMALL, () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().completionStage(pending);
+        });
+        Uni<byte[]> second = renditionCache.coalesceAsync("foto.jpg", SMALL, () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().item(new byte[] { 2 });
+        });
+
+        assertEquals(1, renditionCache.stats().getInFlight());
+        pending.complete(new byte[] { 7 });
+
+        assertArrayEquals(new byte[] { 7 }, first.await().atMost(Duration.ofSeconds(5)));
+        assertArrayEquals(new byte[] { 7 }, second.await().atMost(Duration.ofSeconds(5)));
+        assertEquals(1, loads.get());
+        assertEquals(0, renditionCache.stats().getInFlight());
+    }
+
+    @Test
+    void testCoalesceAsync_CancelledSubscriberDoesNotCancelOthers() {
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+
+        Uni<byte[]> first = renditionCache.coalesceAsync("foto.jpg", SMALL,
+                () -> Uni.createFrom().completionStage(pending));
+        Uni<byte[]> second = renditionCache.coalesceAsync("foto.jpg", SMALL,
+                () -> Uni.createFrom().item(new byte[] { 2 }));
+
+        first.subscribe().with(item -> {
+        }).cancel();
+        pending.complete(new byte[] { 7 });
+
+        assertArrayEquals(new byte[] { 7 }, second.await().atMost(Duration.ofSeconds(5)));
+        assertEquals(0, renditionCache.stats().getInFlight());
+    }
+}
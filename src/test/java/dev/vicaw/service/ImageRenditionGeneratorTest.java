@@ -0,0 +1,71 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImageRenditionGeneratorTest {
+
+    ImageRenditionGenerator renditionGenerator;
+
+    @BeforeEach
+    void setUp() {
+        renditionGenerator = new ImageRenditionGenerator();
+        renditionGenerator.sizes = List.of("64x64", "320x240", "1280x720");
+        renditionGenerator.workers = 1;
+        renditionGenerator.queueSize = 1;
+        renditionGenerator.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renditionGenerator.executor.shutdownNow();
+    }
+
+    @Test
+    void testIsStandardSize() {
+        assertTrue(renditionGenerator.isStandardSize(64, 64));
+        assertTrue(renditionGenerator.isStandardSize(320, 240));
+        assertTrue(renditionGenerator.isStandardSize(1280, 720));
+
+        assertFalse(renditionGenerator.isStandardSize(240, 320));
+        assertFalse(renditionGenerator.isStandardSize(100, 100));
+    }
+
+    @Test
+    void testOnImageSaved_DropsGenerationWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Runnable queued = () -> {
+        };
+
+        renditionGenerator.executor.execute(blocker);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        renditionGenerator.executor.execute(queued);
+
+        // Fila cheia: a geração é descartada sem erro para quem salvou a imagem.
+        renditionGenerator.onImageSaved(new ImageSavedEvent("foto.jpg"));
+
+        assertEquals(1, renditionGenerator.executor.getQueue().size());
+        assertSame(queued, renditionGenerator.executor.getQueue().peek());
+
+        release.countDown();
+    }
+}
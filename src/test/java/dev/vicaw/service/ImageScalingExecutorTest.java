@@ -0,0 +1,130 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.exception.ServiceUnavailableException;
+import dev.vicaw.model.response.ImageScalingStatsResponse;
+
+class ImageScalingExecutorTest {
+
+    ImageScalingExecutor scalingExecutor;
+
+    ExecutorService callers = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        scalingExecutor = new ImageScalingExecutor();
+        scalingExecutor.workers = 1;
+        scalingExecutor.queueSize = 1;
+        scalingExecutor.timeoutMillis = 5000;
+        scalingExecutor.retryAfterSeconds = 3;
+        scalingExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        scalingExecutor.shutdown();
+    }
+
+    @Test
+    void testCall_ReturnsResult() {
+        assertEquals("ok", scalingExecutor.call(() -> "ok"));
+
+        ImageScalingStatsResponse stats = scalingExecutor.stats();
+        assertEquals(1, stats.getWorkers());
+        assertEquals(0, stats.getRejectedCount());
+    }
+
+    @Test
+    void testCall_RethrowsApiException() {
+        ApiException exception = assertThrows(ApiException.class,
+                () -> scalingExecutor.call(() -> {
+                    throw new ApiException(404, "erro");
+                }));
+        assertEquals(404, exception.getCode());
+    }
+
+    @Test
+    void testCall_RejectsWhenSaturated() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Um ocupando o único worker e outro na fila.
+        callers.submit(() -> scalingExecutor.call(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        callers.submit(() -> scalingExecutor.call(() -> true));
+        while (scalingExecutor.stats().getQueuedCount() == 0)
+            Thread.sleep(1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> scalingExecutor.call(() -> true));
+        assertEquals(503, exception.getCode());
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, scalingExecutor.stats().getRejectedCount());
+
+        release.countDown();
+    }
+
+    @Test
+    void testCall_TimesOut() {
+        scalingExecutor.timeoutMillis = 10;
+
+        assertThrows(ServiceUnavailableException.class, () -> scalingExecutor.call(() -> {
+            Thread.sleep(1000);
+            return true;
+        }));
+        assertEquals(1, scalingExecutor.stats().getTimedOutCount());
+    }
+
+    @Test
+    void testSubmit_CompletesOnPoolThread() {
+        String thread = scalingExecutor.submit(() -> Thread.currentThread().getName())
+                .await().atMost(Duration.ofSeconds(5));
+
+        assertTrue(thread.startsWith("image-scaling-"));
+    }
+
+    @Test
+    void testSubmit_TimesOutAndInterruptsTask() throws InterruptedException {
+        scalingExecutor.timeoutMillis = 10;
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(ServiceUnavailableException.class, () -> scalingExecutor.submit(() -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        }).await().atMost(Duration.ofSeconds(5)));
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scalingExecutor.stats().getTimedOutCount());
+    }
+
+    @Test
+    void testSubmit_PropagatesApiException() {
+        ApiException exception = assertThrows(ApiException.class,
+                () -> scalingExecutor.submit(() -> {
+                    throw new ApiException(404, "erro");
+                }).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(404, exception.getCode());
+    }
+}
@@ -1,8 +1,11 @@
 package dev.vicaw.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import dev.vicaw.exception.ApiException;
 import dev.vicaw.exception.RecipeNotFoundException;
 import dev.vicaw.model.Rating;
+import dev.vicaw.model.RatingCursor;
 import dev.vicaw.model.Recipe;
 import dev.vicaw.model.User;
 import dev.vicaw.model.request.RatingCreateRequest;
@@ -31,8 +35,6 @@ import dev.vicaw.model.response.UserResponse;
 import dev.vicaw.repository.RatingRepository;
 import dev.vicaw.repository.RecipeRepository;
 import dev.vicaw.repository.UserRepository;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
 
 @ExtendWith(MockitoExtension.class)
 class RatingServiceTest {
@@ -44,13 +46,13 @@ class RatingServiceTest {
     RecipeRepository recipeRepository;
 
     @Mock
-    UserRepository userRepository;
+    RecipeRanking recipeRanking;
 
     @Mock
-    JsonWebToken token;
+    UserRepository userRepository;
 
     @Mock
-    PanacheQuery<Rating> ratingsQuery;
+    JsonWebToken token;
 
     @InjectMocks
     RatingService ratingService;
@@ -88,18 +90,14 @@ class RatingServiceTest {
 
     @Test
     void testList_ValidInput() {
-
-        when(ratingsQuery.list()).thenReturn(List.of(rating));
-        when(ratingsQuery.hasNextPage()).thenReturn(false);
-        when(ratingsQuery.page(any(Page.class))).thenReturn(ratingsQuery);
-
         when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
-        when(ratingRepository.listAllRecipeRatings(recipe.getId(), "highest"))
-                .thenReturn(ratingsQuery);
+        when(ratingRepository.listRecipeRatings(recipe.getId(), "highest", null, 6))
+                .thenReturn(List.of(rating));
 
-        RecipeRatingsResponse response = ratingService.listRecipeRatings(recipe.getId(), 5, 0, "highest");
+        RecipeRatingsResponse response = ratingService.listRecipeRatings(recipe.getId(), 5, null, "highest");
 
         assertEquals(1, response.getRatings().size());
+        assertNull(response.getNextCursor());
 
         RatingResponse ratingResponse = response.getRatings().get(0);
         UserResponse userResponse = ratingResponse.getUser();
@@ -115,6 +113,48 @@ class RatingServiceTest {
 
     }
 
+    @Test
+    void testList_NextCursorPointsAfterLastRating() {
+        Rating older = Rating.builder()
+                .id(2L)
+                .score(5)
+                .user(user)
+                .recipe(recipe)
+                .build();
+
+        when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
+        when(ratingRepository.listRecipeRatings(recipe.getId(), "highest", null, 2))
+                .thenReturn(List.of(rating, older));
+
+        RecipeRatingsResponse response = ratingService.listRecipeRatings(recipe.getId(), 1, null, "highest");
+
+        assertEquals(1, response.getRatings().size());
+        assertEquals(new RatingCursor("highest", "5", rating.getId()), RatingCursor.decode(response.getNextCursor()));
+    }
+
+    @Test
+    void testList_CursorFromAnotherOrder() {
+        String cursor = new RatingCursor("highest", "5", rating.getId()).encode();
+
+        when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> ratingService.listRecipeRatings(recipe.getId(), 5, cursor, "recent"));
+
+        assertEquals(400, exception.getCode());
+    }
+
+    @Test
+    void testList_PageSizeTooLarge() {
+        when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> ratingService.listRecipeRatings(recipe.getId(), Integer.MAX_VALUE, null, "highest"));
+
+        assertEquals(400, exception.getCode());
+        verify(ratingRepository, never()).listRecipeRatings(any(), any(), any(), anyInt());
+    }
+
     @Test
     void testPostRating_Success() {
         RatingCreateRequest request = RatingCreateRequest.builder()
@@ -126,6 +166,8 @@ class RatingServiceTest {
         when(userRepository.findById(user.getId())).thenReturn(user);
         when(token.getSubject()).thenReturn(user.getId().toString());
         when(ratingRepository.existsByUserAndRecipeId(user.getId(), recipe.getId())).thenReturn(false);
+        when(recipeRanking.getPriorMean()).thenReturn(3.0);
+        when(recipeRanking.getPriorWeight()).thenReturn(5.0);
 
         RatingResponse response = ratingService.postRating(recipe.getId(), request);
 
@@ -137,6 +179,7 @@ class RatingServiceTest {
         assertEquals(user.getPhotoUrl(), response.getUser().getPhotoUrl());
 
         verify(ratingRepository).persist(any(Rating.class));
+        verify(recipeRepository).updateRatingTotals(recipe.getId(), 4, 1, 3.0, 5.0);
     }
 
     @Test
@@ -161,14 +204,15 @@ class RatingServiceTest {
 
     @Test
     void testGetRatingInfo_Success() {
+        recipe.setScore4Count(5);
+        recipe.setScore5Count(5);
         when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
-        when(ratingRepository.ratingCount(recipe.getId())).thenReturn(10L);
-        when(ratingRepository.calculateAverageScore(recipe.getId())).thenReturn(4.5);
 
         RatingInfoResponse response = ratingService.getRatingInfo(recipe.getId());
 
         assertEquals(10L, response.getCount());
         assertEquals(4.5, response.getScore());
+        assertEquals(List.of(0L, 0L, 0L, 5L, 5L), response.getHistogram());
     }
 
     @Test
@@ -3,7 +3,6 @@ package dev.vicaw.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,9 +42,6 @@ class RecipeServiceTest {
     @Mock
     ImageService imageService;
 
-    @Mock
-    RatingService ratingService;
-
     @Mock
     PanacheQuery<Recipe> recipesQuery;
 
@@ -87,6 +83,8 @@ class RecipeServiceTest {
                 .urlFoto("http://localhost:8080/images/recipe1.jpg")
                 .createdAt(now.minusDays(5))
                 .updatedAt(now.minusDays(2))
+                .ratingCount(10)
+                .ratingSum(45)
                 .user(user1)
                 .build();
 
@@ -99,6 +97,8 @@ class RecipeServiceTest {
                 .urlFoto("http://localhost:8080/images/recipe2.jpg")
                 .createdAt(now.minusDays(4))
                 .updatedAt(now.minusDays(1))
+                .ratingCount(10)
+                .ratingSum(45)
                 .user(user1)
                 .build();
 
@@ -111,6 +111,8 @@ class RecipeServiceTest {
                 .urlFoto("http://localhost:8080/images/recipe3.jpg")
                 .createdAt(now.minusDays(3))
                 .updatedAt(now)
+                .ratingCount(10)
+                .ratingSum(45)
                 .user(user1)
                 .build();
 
@@ -123,6 +125,8 @@ class RecipeServiceTest {
                 .urlFoto("http://localhost:8080/images/recipe4.jpg")
                 .createdAt(now.minusDays(2))
                 .updatedAt(now.minusHours(5))
+                .ratingCount(10)
+                .ratingSum(45)
                 .user(user2)
                 .build();
 
@@ -135,6 +139,8 @@ class RecipeServiceTest {
                 .urlFoto("http://localhost:8080/images/recipe5.jpg")
                 .createdAt(now.minusDays(1))
                 .updatedAt(now.minusHours(2))
+                .ratingCount(10)
+                .ratingSum(45)
                 .user(user2)
                 .build();
 
@@ -151,8 +157,6 @@ class RecipeServiceTest {
 
     @Test
     void testList_RecipesWithoutFilters() {
-        when(ratingService.getAverageRating(anyLong())).thenReturn(4.5);
-        when(ratingService.getRatingCount(anyLong())).thenReturn(10L);
         when(recipesQuery.list()).thenReturn(allRecipes);
         when(recipeRepository.listRecipes(null, null, null)).thenReturn(recipesQuery);
 
@@ -184,8 +188,6 @@ class RecipeServiceTest {
         int pageNumber = 0;
         int pageSize = 10;
 
-        when(ratingService.getAverageRating(anyLong())).thenReturn(4.5);
-        when(ratingService.getRatingCount(anyLong())).thenReturn(10L);
         when(recipesQuery.list()).thenReturn(recipesUser1);
         when(recipesQuery.hasNextPage()).thenReturn(false);
         when(recipeRepository.listUserRecipes(user1.getId(), null, pageSize, pageNumber))
@@ -201,8 +203,6 @@ class RecipeServiceTest {
     @Test
     void testGetById_RecipeExists() {
         Recipe recipe = allRecipes.get(0);
-        when(ratingService.getAverageRating(recipe.getId())).thenReturn(4.5);
-        when(ratingService.getRatingCount(recipe.getId())).thenReturn(10L);
         when(recipeRepository.findByIdOptional(recipe.getId())).thenReturn(Optional.of(recipe));
 
         RecipeResponse response = recipeService.getById(recipe.getId());
@@ -309,6 +309,7 @@ class RecipeServiceTest {
         recipeService.delete(recipe.getId());
 
         verify(recipeRepository).delete(recipe);
+        verify(imageService).release(recipe.getUrlFoto());
     }
 
     @Test
@@ -318,8 +319,6 @@ class RecipeServiceTest {
         int pageNumber = 0;
         int pageSize = 10;
 
-        when(ratingService.getAverageRating(anyLong())).thenReturn(4.5);
-        when(ratingService.getRatingCount(anyLong())).thenReturn(10L);
         when(recipesQuery.list()).thenReturn(recipesUser2);
         when(recipesQuery.hasNextPage()).thenReturn(false);
 
@@ -0,0 +1,60 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.model.RenditionSize;
+
+class RenditionSizePolicyTest {
+
+    private RenditionSizePolicy policy(String mode, List<String> buckets) {
+        RenditionSizePolicy policy = new RenditionSizePolicy();
+        policy.policy = mode;
+        policy.buckets = buckets;
+        policy.maxPixels = 1280 * 720;
+        policy.init();
+        return policy;
+    }
+
+    @Test
+    void testResolve_ExactBucket() {
+        RenditionSizePolicy policy = policy("snap", List.of("64x64", "320x240"));
+
+        assertEquals(new RenditionSize(320, 240), policy.resolve(320, 240));
+    }
+
+    @Test
+    void testResolve_SnapsToNearestBucket() {
+        RenditionSizePolicy policy = policy("snap", List.of("64x64", "320x240", "1280x720"));
+
+        assertEquals(new RenditionSize(320, 240), policy.resolve(301, 299));
+        assertEquals(new RenditionSize(64, 64), policy.resolve(50, 70));
+        assertEquals(new RenditionSize(1280, 720), policy.resolve(5000, 3000));
+    }
+
+    @Test
+    void testResolve_Reject() {
+        RenditionSizePolicy policy = policy("reject", List.of("64x64"));
+
+        ApiException exception = assertThrows(ApiException.class, () -> policy.resolve(65, 64));
+        assertEquals(400, exception.getCode());
+    }
+
+    @Test
+    void testResolve_OffStillEnforcesMaxPixels() {
+        RenditionSizePolicy policy = policy("off", List.of("64x64"));
+
+        assertEquals(new RenditionSize(301, 299), policy.resolve(301, 299));
+        assertThrows(ApiException.class, () -> policy.resolve(2000, 2000));
+    }
+
+    @Test
+    void testInit_BucketAboveMaxPixels() {
+        assertThrows(IllegalStateException.class, () -> policy("snap", List.of("1920x1080")));
+    }
+}
@@ -0,0 +1,74 @@
+package dev.vicaw.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.vicaw.exception.ApiException;
+import dev.vicaw.exception.ImageTooLargeException;
+
+class UploadLimiterTest {
+
+    UploadLimiter uploadLimiter;
+
+    @BeforeEach
+    void setUp() {
+        uploadLimiter = new UploadLimiter();
+        uploadLimiter.maxBytes = 100;
+        uploadLimiter.maxInflightBytes = 150;
+    }
+
+    @Test
+    void testLimit_WithinLimit() throws IOException {
+        try (InputStream in = uploadLimiter.limit(new ByteArrayInputStream(new byte[100]))) {
+            assertEquals(100, in.readAllBytes().length);
+        }
+    }
+
+    @Test
+    void testLimit_ExceedsMaxBytes() {
+        InputStream in = uploadLimiter.limit(new ByteArrayInputStream(new byte[101]));
+
+        ImageTooLargeException exception = assertThrows(ImageTooLargeException.class, in::readAllBytes);
+        assertEquals(413, exception.getCode());
+    }
+
+    @Test
+    void testLimit_SkippedBytesCount() throws IOException {
+        InputStream in = uploadLimiter.limit(new ByteArrayInputStream(new byte[101]));
+
+        assertEquals(60, in.skip(60));
+        assertThrows(ImageTooLargeException.class, () -> in.skip(60));
+    }
+
+    @Test
+    void testLimit_TransferToCounts() {
+        InputStream in = uploadLimiter.limit(new ByteArrayInputStream(new byte[101]));
+
+        assertThrows(ImageTooLargeException.class, () -> in.transferTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testLimit_ExceedsInflightBudget() throws IOException {
+        InputStream first = uploadLimiter.limit(new ByteArrayInputStream(new byte[100]));
+        first.readAllBytes();
+
+        InputStream second = uploadLimiter.limit(new ByteArrayInputStream(new byte[100]));
+        ApiException exception = assertThrows(ApiException.class, second::readAllBytes);
+        assertEquals(503, exception.getCode());
+
+        first.close();
+        second.close();
+
+        try (InputStream third = uploadLimiter.limit(new ByteArrayInputStream(new byte[100]))) {
+            assertEquals(100, third.readAllBytes().length);
+        }
+    }
+}
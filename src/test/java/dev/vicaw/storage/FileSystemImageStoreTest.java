@@ -0,0 +1,77 @@
+package dev.vicaw.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileSystemImageStore imageStore;
+
+    private final byte[] data = "conteudo da imagem".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = new FileSystemImageStore();
+        imageStore.rootPath = tempDir.toString();
+        imageStore.init();
+    }
+
+    @Test
+    void testPut_StoresContentUnderShardedHash() throws IOException {
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(data));
+
+        String hash = ContentHash.of(data);
+        assertEquals(hash, stored.getHash());
+        assertEquals(data.length, stored.getSize());
+        assertTrue(Files.exists(tempDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash)));
+    }
+
+    @Test
+    void testPut_SameContentIsStoredOnce() throws IOException {
+        StoredImage first = imageStore.put(new ByteArrayInputStream(data));
+        StoredImage second = imageStore.put(new ByteArrayInputStream(data));
+
+        assertEquals(first.getHash(), second.getHash());
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void testOpen_TransfersWholeContent() throws IOException {
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(data));
+
+        ImageContent content = imageStore.open(stored.getHash());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.transferTo(out);
+
+        assertEquals(data.length, content.size());
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    void testDelete_RemovesContent() throws IOException {
+        StoredImage stored = imageStore.put(new ByteArrayInputStream(data));
+
+        imageStore.delete(stored.getHash());
+
+        assertFalse(imageStore.exists(stored.getHash()));
+    }
+}